@@ -0,0 +1,26 @@
+package com.project.back_end.DTO;
+
+public class AuthenticatedPrincipal {
+
+    private final String role;
+    private final String subject;
+    private final Long id;
+
+    public AuthenticatedPrincipal(String role, String subject, Long id) {
+        this.role = role;
+        this.subject = subject;
+        this.id = id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class AvailableSlot {
+
+    private final Long doctorId;
+    private final String doctorName;
+    private final LocalDateTime start;
+    private final String slot;
+
+    public AvailableSlot(Long doctorId, String doctorName, LocalDateTime start, String slot) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.start = start;
+        this.slot = slot;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDate getDate() {
+        return start.toLocalDate();
+    }
+
+    public String getSlot() {
+        return slot;
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+public interface BookedSlot {
+
+    Long getDoctorId();
+
+    LocalDateTime getAppointmentTime();
+}
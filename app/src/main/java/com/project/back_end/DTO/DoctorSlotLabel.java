@@ -0,0 +1,8 @@
+package com.project.back_end.DTO;
+
+public interface DoctorSlotLabel {
+
+    Long getDoctorId();
+
+    String getLabel();
+}
@@ -0,0 +1,45 @@
+package com.project.back_end.DTO;
+
+import com.project.back_end.models.Patient;
+
+public class PatientDetails {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String address;
+
+    public PatientDetails(Long id, String name, String email, String phone, String address) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+    }
+
+    public static PatientDetails of(Patient patient) {
+        return new PatientDetails(patient.getId(), patient.getName(), patient.getEmail(), patient.getPhone(),
+                patient.getAddress());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.back_end.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the {@link com.project.back_end.DTO.AuthenticatedPrincipal} resolved from the
+ * {@code {token}} path variable. When no role is given, the {@code {user}} path variable is used.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentPrincipal {
+    String role() default "";
+}
@@ -0,0 +1,53 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.Prescription;
+
+// Ensures one prescription per appointment; savePrescription relies on the duplicate-key error instead of a lookup.
+// While the index is missing (Mongo down at startup, or duplicates already stored) creation is retried and
+// savePrescription falls back to checking for an existing prescription first.
+@Component
+public class PrescriptionIndexes implements ApplicationRunner {
+
+    public static final String APPOINTMENT_ID_INDEX = "uk_prescription_appointment";
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile boolean uniqueIndexReady;
+
+    public PrescriptionIndexes(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureIndex();
+    }
+
+    @Scheduled(fixedDelayString = "${prescriptions.index-retry-ms:60000}",
+            initialDelayString = "${prescriptions.index-retry-ms:60000}")
+    public void ensureIndex() {
+        if (uniqueIndexReady) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(Prescription.class).ensureIndex(
+                    new Index("appointmentId", Sort.Direction.ASC).unique().named(APPOINTMENT_ID_INDEX));
+            uniqueIndexReady = true;
+        } catch (Exception e) {
+            System.err.println("Could not create unique prescription index, check for duplicate appointmentIds; "
+                    + "prescriptions are checked before each save until it exists: " + e.getMessage());
+        }
+    }
+
+    public boolean isUniqueIndexReady() {
+        return uniqueIndexReady;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.back_end.config;
+
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.services.TokenService;
+
+public class PrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String PRINCIPAL_ATTRIBUTE = PrincipalArgumentResolver.class.getName() + ".principal";
+
+    private final TokenService tokenService;
+
+    public PrincipalArgumentResolver(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentPrincipal.class)
+                && AuthenticatedPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof AuthenticatedPrincipal principal) {
+            return principal;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) webRequest.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String role = parameter.getParameterAnnotation(CurrentPrincipal.class).role();
+        if (role.isEmpty() && pathVariables != null) {
+            role = pathVariables.get("user");
+        }
+        String token = pathVariables != null ? pathVariables.get("token") : null;
+
+        AuthenticatedPrincipal principal = token != null && role != null
+                ? tokenService.resolvePrincipal(token, role)
+                : null;
+        if (principal == null) {
+            throw new UnauthorizedException("Invalid or expired token");
+        }
+        webRequest.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        return principal;
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.back_end.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.TimeSlot;
+
+// Backfills the typed slot columns for rows that were stored as plain "HH:mm-HH:mm" strings
+@Component
+public class TimeSlotMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeSlotMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT doctor_id, available_times FROM doctor_available_times WHERE start_minute IS NULL");
+        for (Map<String, Object> row : rows) {
+            String label = (String) row.get("available_times");
+            try {
+                TimeSlot slot = TimeSlot.parse(label);
+                jdbcTemplate.update(
+                        "UPDATE doctor_available_times SET start_minute = ?, end_minute = ?, morning = ? "
+                                + "WHERE doctor_id = ? AND available_times = ? AND start_minute IS NULL",
+                        slot.getStartMinute(), slot.getEndMinute(), slot.isMorning(),
+                        row.get("doctor_id"), label);
+            } catch (Exception e) {
+                System.err.println("Skipping unparseable time slot '" + label + "': " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.back_end.config;
+
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,26 @@
 package com.project.back_end.config;
 
 
+import java.util.List;
+
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.project.back_end.services.TokenService;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final TokenService tokenService;
+
+    public WebConfig(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         // Allow CORS for all endpoints
@@ -18,4 +29,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE")  // Specify allowed methods
                 .allowedHeaders("*");  // You can restrict headers if needed
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        // Parse the token once per request and hand controllers a typed principal
+        resolvers.add(new PrincipalArgumentResolver(tokenService));
+    }
+}
@@ -1,115 +1,122 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.config.CurrentPrincipal;
 import com.project.back_end.models.Appointment;
-import com.project.back_end.services.AppService;
+import com.project.back_end.services.AppointmentExportService;
 import com.project.back_end.services.AppointmentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    private static final LocalDate LAST_EXPORT_DAY = LocalDate.of(9999, 12, 30);
+
     private final AppointmentService appointmentService;
-    private final AppService service;
+    private final AppointmentExportService appointmentExportService;
+    private final long exportTimeoutMillis;
 
     @Autowired
-    public AppointmentController(
-            AppointmentService appointmentService,
-            AppService service
-    ) {
+    public AppointmentController(AppointmentService appointmentService,
+                                 AppointmentExportService appointmentExportService,
+                                 @Value("${appointments.export.timeout-ms:1800000}") long exportTimeoutMillis) {
         this.appointmentService = appointmentService;
-        this.service = service;
+        this.appointmentExportService = appointmentExportService;
+        this.exportTimeoutMillis = exportTimeoutMillis;
     }
 
     @GetMapping("/{date}/{patientName}/{token}")
     public ResponseEntity<Map<String, Object>> getAppointments(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @PathVariable String patientName,
-            @PathVariable String token
+            @CurrentPrincipal(role = "doctor") AuthenticatedPrincipal doctor
     ) {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "doctor"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
-        map = appointmentService.getAppointment(patientName, date, token);
+        Map<String, Object> map = appointmentService.getAppointment(patientName, date, doctor.getId());
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
     @PostMapping("/{token}")
     public ResponseEntity<Map<String, String>> bookAppointment(
             @RequestBody @Valid Appointment appointment,
-            @PathVariable String token
+            @CurrentPrincipal(role = "patient") AuthenticatedPrincipal patient
     ) {
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "patient"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
-
-        Map<String, String> response = new HashMap<>();
-        int validationResult = service.validateAppointment(appointment);
-        if (validationResult == 1) {
-            int bookingResult = appointmentService.bookAppointment(appointment);
-            if (bookingResult == 1) {
-                response.put("message", "Appointment booked successfully.");
-                return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            }
-            response.put("message", "Internal server error during booking.");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        } else if (validationResult == -1) {
-            response.put("message", "Invalid doctor ID.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
-
-        response.put(
-                "message",
-                "Appointment already booked for the given time or doctor not available."
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return appointmentService.bookAppointment(appointment);
     }
 
     @PutMapping("/{token}")
     public ResponseEntity<Map<String, String>> updateAppointment(
-            @PathVariable String token,
+            @CurrentPrincipal(role = "patient") AuthenticatedPrincipal patient,
             @RequestBody @Valid Appointment appointment
     ) {
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "patient"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
         return appointmentService.updateAppointment(appointment);
     }
 
     @DeleteMapping("/{id}/{token}")
     public ResponseEntity<Map<String, String>> cancelAppointment(
             @PathVariable Long id,
-            @PathVariable String token
+            @CurrentPrincipal(role = "patient") AuthenticatedPrincipal patient
+    ) {
+        return appointmentService.cancelAppointment(id, patient.getId());
+    }
+
+    // from and to are inclusive days, like the batch availability endpoint
+    @GetMapping("/export/{user}/{format}/{token}")
+    public ResponseEntity<?> exportAppointments(
+            @PathVariable String format,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(defaultValue = "1970-01-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "9999-12-30") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @CurrentPrincipal AuthenticatedPrincipal principal,
+            HttpServletRequest request
     ) {
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "patient"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
+        Map<String, String> map = new HashMap<>();
+        if (!AppointmentExportService.isSupportedFormat(format)) {
+            map.put("error", "Unsupported export format: " + format);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        Long exportDoctorId;
+        if (principal.getRole().equals("doctor")) {
+            exportDoctorId = principal.getId();
+        } else if (principal.getRole().equals("admin")) {
+            exportDoctorId = doctorId;
+        } else {
+            map.put("error", "Only admins and doctors can export appointments");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(map);
+        }
+
+        // A full export can outlast the default async timeout; the longer limit applies to this request only
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(exportTimeoutMillis);
         }
-        return appointmentService.cancelAppointment(id, token);
+        // The repositories take a half-open range; the last day is capped so the day after stays a valid DATETIME
+        LocalDateTime end = (to.isAfter(LAST_EXPORT_DAY) ? LAST_EXPORT_DAY : to).plusDays(1).atStartOfDay();
+        StreamingResponseBody body = out -> appointmentExportService.export(exportDoctorId, from.atStartOfDay(), end,
+                format, out);
+        MediaType contentType = format.equals(AppointmentExportService.CSV)
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appointments." + format + "\"")
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,23 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthenticatedPrincipal;
 import com.project.back_end.DTO.Login;
+import com.project.back_end.config.CurrentPrincipal;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.services.AppService;
+import com.project.back_end.services.DoctorDirectoryCache;
 import com.project.back_end.services.DoctorService;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,46 +36,58 @@ public class DoctorController {
 
     @GetMapping("/availability/{user}/{doctorId}/{date}/{token}")
     public ResponseEntity<Map<String, Object>> getDoctorAvailability(
-            @PathVariable String user,
             @PathVariable Long doctorId,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @PathVariable String token
+            @CurrentPrincipal AuthenticatedPrincipal principal
     ) {
         Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                user
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
         map.put("message", doctorService.getDoctorAvailability(doctorId, date));
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
+    @GetMapping("/availability/batch/{user}/{from}/{to}/{token}")
+    public ResponseEntity<Map<String, Object>> getDoctorsAvailability(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> doctorIds,
+            @RequestParam(required = false) String specialty,
+            @RequestParam(defaultValue = "0") long after,
+            @CurrentPrincipal AuthenticatedPrincipal principal
+    ) {
+        return doctorService.getDoctorsAvailability(doctorIds, specialty, after, from, to);
+    }
+
+    @GetMapping("/nextAvailable/{user}/{specialty}/{token}")
+    public ResponseEntity<Map<String, Object>> getNextAvailableSlots(
+            @PathVariable String specialty,
+            @RequestParam(defaultValue = "5") int count,
+            @CurrentPrincipal AuthenticatedPrincipal principal
+    ) {
+        return doctorService.findNextAvailableSlots(specialty, count);
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getDoctors() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("doctors", doctorService.getDoctors());
-        return ResponseEntity.status(HttpStatus.OK).body(map);
+    public ResponseEntity<Map<String, Object>> getDoctors(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.status(HttpStatus.OK).body(doctorService.getDoctors(after, size));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Map<String, Object>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.status(HttpStatus.OK).body(doctorService.suggestDoctors(prefix, limit));
     }
 
     @PostMapping("/add/{token}")
     public ResponseEntity<Map<String, String>> saveDoctor(
             @RequestBody @Valid Doctor doctor,
-            @PathVariable String token
+            @CurrentPrincipal(role = "admin") AuthenticatedPrincipal admin
     ) {
         Map<String, String> response = new HashMap<>();
-
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "admin"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
-
         int result = doctorService.saveDoctor(doctor);
         if (result == 1) {
             response.put("message", "Doctor added successfully.");
@@ -92,17 +111,9 @@ public class DoctorController {
     @PutMapping("/{token}")
     public ResponseEntity<Map<String, String>> updateDoctor(
             @RequestBody @Valid Doctor doctor,
-            @PathVariable String token
+            @CurrentPrincipal(role = "admin") AuthenticatedPrincipal admin
     ) {
         Map<String, String> response = new HashMap<>();
-
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "admin"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
         int result = doctorService.updateDoctor(doctor);
         if (result == 1) {
             response.put("message", "Doctor updated successfully.");
@@ -119,20 +130,13 @@ public class DoctorController {
     @DeleteMapping("/{id}/{token}")
     public ResponseEntity<Map<String, String>> deleteDoctor(
             @PathVariable long id,
-            @PathVariable String token
+            @CurrentPrincipal(role = "admin") AuthenticatedPrincipal admin
     ) {
         Map<String, String> response = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "admin"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
         int result = doctorService.deleteDoctor(id);
         if (result == 1) {
-            response.put("message", "Doctor deleted successfully with ID: " + id);
-            return ResponseEntity.status(HttpStatus.OK).body(response);
+            response.put("message", "Doctor deletion started for ID: " + id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } else if (result == -1) {
             response.put("message", "Doctor not found with ID: " + id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
@@ -141,14 +145,30 @@ public class DoctorController {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    @GetMapping("/deletion/{id}/{token}")
+    public ResponseEntity<Map<String, Object>> getDeletionProgress(
+            @PathVariable long id,
+            @CurrentPrincipal(role = "admin") AuthenticatedPrincipal admin
+    ) {
+        return doctorService.getDeletionProgress(id);
+    }
+
+    // The body is served pre-serialized from the filter cache; its content hash doubles as the ETag
     @GetMapping("/filter/{name}/{time}/{speciality}")
-    public ResponseEntity<Map<String, Object>> filter(
+    public ResponseEntity<byte[]> filter(
             @PathVariable String name,
             @PathVariable String time,
-            @PathVariable String speciality
+            @PathVariable String speciality,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        Map<String, Object> map = new HashMap<>();
-        map = service.filterDoctor(name, speciality, time);
-        return ResponseEntity.status(HttpStatus.OK).body(map);
+        DoctorDirectoryCache.Body body = service.filterDoctor(name, speciality, time, page, size);
+        if (ifNoneMatch != null && ifNoneMatch.contains(body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.etag()).cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(body.etag()).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON).body(body.json());
     }
 }
\ No newline at end of file
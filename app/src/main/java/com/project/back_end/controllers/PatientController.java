@@ -1,8 +1,11 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthenticatedPrincipal;
 import com.project.back_end.DTO.Login;
+import com.project.back_end.config.CurrentPrincipal;
 import com.project.back_end.models.Patient;
 import com.project.back_end.services.AppService;
+import com.project.back_end.services.PatientRecordService;
 import com.project.back_end.services.PatientService;
 import jakarta.validation.Valid;
 import java.util.HashMap;
@@ -18,25 +21,21 @@ public class PatientController {
 
     private final PatientService patientService;
     private final AppService service;
+    private final PatientRecordService patientRecordService;
 
     @Autowired
-    public PatientController(PatientService patientService, AppService service) {
+    public PatientController(PatientService patientService, AppService service,
+                             PatientRecordService patientRecordService) {
         this.patientService = patientService;
         this.service = service;
+        this.patientRecordService = patientRecordService;
     }
 
     @GetMapping("/{token}")
-    public ResponseEntity<Map<String, Object>> getPatient(@PathVariable String token) {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "patient"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
-        return patientService.getPatientDetails(token);
+    public ResponseEntity<Map<String, Object>> getPatient(
+            @CurrentPrincipal(role = "patient") AuthenticatedPrincipal patient
+    ) {
+        return patientService.getPatientDetails(patient.getId());
     }
 
     @PostMapping()
@@ -67,37 +66,38 @@ public class PatientController {
     @GetMapping("/{id}/{user}/{token}")
     public ResponseEntity<Map<String, Object>> getPatientAppointment(
             @PathVariable Long id,
-            @PathVariable String token,
-            @PathVariable String user
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @CurrentPrincipal AuthenticatedPrincipal principal
     ) {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                user
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
+        return patientService.getPatientAppointment(id, cursor, size);
+    }
 
-        return patientService.getPatientAppointment(id, token);
+    @GetMapping("/record/{id}/{user}/{token}")
+    public ResponseEntity<Map<String, Object>> getPatientRecord(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @CurrentPrincipal AuthenticatedPrincipal principal
+    ) {
+        boolean allowed = principal.getRole().equals("doctor")
+                || (principal.getRole().equals("patient") && id.equals(principal.getId()));
+        if (!allowed) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("error", "Only doctors and the patient themselves can read this record");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(map);
+        }
+        return patientRecordService.getPatientRecord(id, cursor, size);
     }
 
     @GetMapping("/filter/{condition}/{name}/{token}")
     public ResponseEntity<Map<String, Object>> filterPatientAppointment(
             @PathVariable String condition,
             @PathVariable String name,
-            @PathVariable String token
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @CurrentPrincipal(role = "patient") AuthenticatedPrincipal patient
     ) {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "patient"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
-        return service.filterPatient(condition, name, token);
+        return service.filterPatient(condition, name, patient.getId(), cursor, size);
     }
 }
\ No newline at end of file
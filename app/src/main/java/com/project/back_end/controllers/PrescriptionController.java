@@ -1,11 +1,12 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AuthenticatedPrincipal;
+import com.project.back_end.config.CurrentPrincipal;
 import com.project.back_end.models.Prescription;
-import com.project.back_end.services.AppService;
 import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.PrescriptionService;
 import jakarta.validation.Valid;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -21,32 +23,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class PrescriptionController {
 
     private final PrescriptionService prescriptionService;
-    private final AppService service;
     private final AppointmentService appointmentService;
 
     @Autowired
     public PrescriptionController(
             PrescriptionService prescriptionService,
-            AppService service,
             AppointmentService appointmentService
     ) {
         this.prescriptionService = prescriptionService;
-        this.service = service;
         this.appointmentService = appointmentService;
     }
 
     @PostMapping("/{token}")
     public ResponseEntity<Map<String, String>> savePrescription(
-            @PathVariable String token,
+            @CurrentPrincipal(role = "doctor") AuthenticatedPrincipal doctor,
             @RequestBody @Valid Prescription prescription
     ) {
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "doctor"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
         appointmentService.changeStatus(prescription.getAppointmentId());
         return prescriptionService.savePrescription(prescription);
     }
@@ -54,17 +46,23 @@ public class PrescriptionController {
     @GetMapping("/{appointmentId}/{token}")
     public ResponseEntity<Map<String, Object>> getPrescription(
             @PathVariable Long appointmentId,
-            @PathVariable String token
+            @CurrentPrincipal(role = "doctor") AuthenticatedPrincipal doctor
     ) {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(
-                token,
-                "doctor"
-        );
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
         return prescriptionService.getPrescription(appointmentId);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/batch/{token}")
+    public ResponseEntity<Map<String, Object>> getPrescriptions(
+            @RequestParam List<Long> appointmentIds,
+            @CurrentPrincipal(role = "doctor") AuthenticatedPrincipal doctor
+    ) {
+        return prescriptionService.getPrescriptions(appointmentIds);
+    }
+
+    @GetMapping("/cache/stats/{token}")
+    public ResponseEntity<Map<String, Long>> getCacheStats(
+            @CurrentPrincipal(role = "admin") AuthenticatedPrincipal admin
+    ) {
+        return ResponseEntity.ok(prescriptionService.getCacheStats());
+    }
+}
@@ -2,8 +2,12 @@ package com.project.back_end.controllers;
 
 import java.util.HashMap;
 import java.util.Map;
+
+import com.project.back_end.config.UnauthorizedException;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -37,6 +41,28 @@ public class ValidationFailed {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    // A body Jackson could not bind, such as a doctor with an invalid time slot, is the caller's mistake
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> handleUnreadableBody(
+            HttpMessageNotReadableException ex
+    ) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Input validation failed.");
+        if (ex.getMostSpecificCause() instanceof IllegalArgumentException cause) {
+            response.put("details", cause.getMessage());
+        }
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<Map<String, String>> handleUnauthorized(
+            UnauthorizedException ex
+    ) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneralException(
             Exception ex
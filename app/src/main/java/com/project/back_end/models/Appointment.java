@@ -8,8 +8,26 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(
+                name = Appointment.SLOT_CONSTRAINT,
+                columnNames = {"doctor_id", "appointment_time"}
+        ),
+        indexes = {
+                @Index(name = "idx_appointment_patient_time", columnList = "patient_id, appointment_time, id"),
+                @Index(name = "idx_appointment_status_time", columnList = "status, appointment_time")
+        }
+)
 public class Appointment {
 
+    // One appointment per doctor and time; AppointmentService reports its violation as a taken slot
+    public static final String SLOT_CONSTRAINT = "uk_appointment_doctor_time";
+
+    public static final int SCHEDULED = 0;
+    public static final int COMPLETED = 1;
+    // Time passed without the appointment being completed; set by AppointmentExpiryJob
+    public static final int EXPIRED = 2;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
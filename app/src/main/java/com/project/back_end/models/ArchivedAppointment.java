@@ -0,0 +1,56 @@
+package com.project.back_end.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Completed or expired appointment moved out of the hot appointment table by AppointmentArchive.
+ * Keeps the original id so history cursors and prescription references stay valid.
+ */
+@Entity
+@Table(
+        name = "appointment_archive",
+        indexes = {
+                @Index(name = "idx_archive_patient_time", columnList = "patient_id, appointment_time, id"),
+                @Index(name = "idx_archive_doctor_time", columnList = "doctor_id, appointment_time"),
+                @Index(name = "idx_archive_time", columnList = "appointment_time")
+        }
+)
+public class ArchivedAppointment {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Doctor doctor;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Patient patient;
+
+    private LocalDateTime appointmentTime;
+
+    private int status;
+
+    protected ArchivedAppointment() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public LocalDateTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
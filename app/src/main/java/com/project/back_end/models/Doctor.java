@@ -1,13 +1,29 @@
 package com.project.back_end.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.CACHE_REGION)
+@Table(indexes = {
+        @Index(name = "idx_doctor_email", columnList = "email"),
+        @Index(name = "idx_doctor_specialty", columnList = "specialty")
+})
 public class Doctor {
 
+    public static final String CACHE_REGION = "doctor";
+
+    public static final String AVAILABLE_TIMES_CACHE_REGION = "doctor.availableTimes";
+
+    public static final String SPECIALTY_QUERY_CACHE_REGION = "doctor.bySpecialty";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,7 +50,18 @@ public class Doctor {
     private String phone;
 
     @ElementCollection
-    private List<String> availableTimes;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.AVAILABLE_TIMES_CACHE_REGION)
+    @BatchSize(size = 50)
+    @CollectionTable(
+            name = "doctor_available_times",
+            joinColumns = @JoinColumn(name = "doctor_id"),
+            indexes = @Index(name = "idx_doctor_slot_morning", columnList = "morning, doctor_id")
+    )
+    private List<TimeSlot> availableTimes;
+
+    // Set when a deletion job starts; the doctor stays hidden until the job removes the row
+    @JsonIgnore
+    private boolean deleting;
 
     public Long getId() {
         return id;
@@ -84,11 +111,15 @@ public class Doctor {
         this.phone = phone;
     }
 
-    public List<String> getAvailableTimes() {
+    public List<TimeSlot> getAvailableTimes() {
         return availableTimes;
     }
 
-    public void setAvailableTimes(List<String> availableTimes) {
+    public void setAvailableTimes(List<TimeSlot> availableTimes) {
         this.availableTimes = availableTimes;
     }
-}
\ No newline at end of file
+
+    public boolean isDeleting() {
+        return deleting;
+    }
+}
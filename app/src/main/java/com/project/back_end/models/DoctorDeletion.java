@@ -0,0 +1,68 @@
+package com.project.back_end.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an asynchronous doctor deletion. The row outlives restarts so an interrupted
+ * deletion resumes where it stopped.
+ */
+@Entity
+@Table(name = "doctor_deletion")
+public class DoctorDeletion {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private Long doctorId;
+
+    private String status;
+
+    private long appointmentsDeleted;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    protected DoctorDeletion() {
+    }
+
+    public DoctorDeletion(Long doctorId) {
+        this.doctorId = doctorId;
+        this.status = RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = startedAt;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public long getAppointmentsDeleted() {
+        return appointmentsDeleted;
+    }
+
+    public void addAppointmentsDeleted(int count) {
+        this.appointmentsDeleted += count;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
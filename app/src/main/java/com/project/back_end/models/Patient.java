@@ -1,9 +1,14 @@
 package com.project.back_end.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_patient_email", columnList = "email"),
+        @Index(name = "idx_patient_phone", columnList = "phone")
+})
 public class Patient {
 
     @Id
@@ -20,6 +25,7 @@ public class Patient {
 
     @NotNull(message = "Password cannot be null.")
     @Size(min = 6, message = "Password must be at least 6 characters long.")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @NotNull(message = "Phone number cannot be null.")
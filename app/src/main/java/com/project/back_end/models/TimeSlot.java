@@ -0,0 +1,100 @@
+package com.project.back_end.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.util.Objects;
+
+@Embeddable
+public class TimeSlot {
+
+    public static final int NOON = 12 * 60;
+
+    @Column(name = "available_times")
+    private String label;
+
+    private Integer startMinute;
+
+    private Integer endMinute;
+
+    private Boolean morning;
+
+    protected TimeSlot() {
+    }
+
+    public TimeSlot(int startMinute, int endMinute) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.morning = startMinute < NOON;
+        this.label = format(startMinute) + "-" + format(endMinute);
+    }
+
+    @JsonCreator
+    public static TimeSlot parse(String value) {
+        String[] parts = value.trim().split("-");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid time slot: " + value);
+        }
+        int start = parseMinute(parts[0]);
+        int end = parseMinute(parts[1]);
+        if (end <= start) {
+            throw new IllegalArgumentException("Time slot must end after it starts: " + value);
+        }
+        return new TimeSlot(start, end);
+    }
+
+    public static int parseMinute(String value) {
+        String[] parts = value.trim().split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid time: " + value);
+        }
+        int hour = Integer.parseInt(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+        // 24:00 is allowed as the end of the day, nothing later
+        if (hour < 0 || hour > 24 || minute < 0 || minute > 59 || (hour == 24 && minute != 0)) {
+            throw new IllegalArgumentException("Invalid time: " + value);
+        }
+        return hour * 60 + minute;
+    }
+
+    private static String format(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    // Rows written before the typed columns existed only carry the label until TimeSlotMigration runs
+    public int getStartMinute() {
+        return startMinute != null ? startMinute : parseMinute(label.split("-")[0]);
+    }
+
+    public int getEndMinute() {
+        return endMinute != null ? endMinute : parseMinute(label.split("-")[1]);
+    }
+
+    public boolean isMorning() {
+        return morning != null ? morning : getStartMinute() < NOON;
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeSlot other)) {
+            return false;
+        }
+        return getStartMinute() == other.getStartMinute() && getEndMinute() == other.getEndMinute();
+    }
+
+    // Through the getters so a slot not yet backfilled compares by the times in its label
+    @Override
+    public int hashCode() {
+        return Objects.hash(getStartMinute(), getEndMinute());
+    }
+}
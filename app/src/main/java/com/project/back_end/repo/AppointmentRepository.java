@@ -1,65 +1,140 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.BookedSlot;
 import com.project.back_end.models.Appointment;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    String SELECT_APPOINTMENT_DTO =
+            "SELECT new com.project.back_end.DTO.AppointmentDTO(a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status) FROM Appointment a JOIN a.doctor d JOIN a.patient p ";
+    String AFTER_CURSOR =
+            "(a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) ";
+    String ORDER_BY_CURSOR = "ORDER BY a.appointmentTime, a.id";
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @Query(
+            SELECT_APPOINTMENT_DTO + "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end ORDER BY a.appointmentTime"
+    )
+    List<AppointmentDTO> findDtoByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
     @Query(
-            "SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end"
+            "SELECT a.appointmentTime FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end"
     )
-    List<Appointment> findByDoctorIdAndAppointmentTimeBetween(
+    List<LocalDateTime> findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
             Long doctorId,
             LocalDateTime start,
             LocalDateTime end
     );
 
     @Query(
-            "SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes LEFT JOIN FETCH a.patient p WHERE a.doctor.id = :doctorId AND p.name LIKE %:patientName% AND a.appointmentTime BETWEEN :start AND :end"
+            "SELECT a.doctor.id AS doctorId, a.appointmentTime AS appointmentTime FROM Appointment a WHERE a.doctor.id IN :doctorIds AND a.appointmentTime BETWEEN :start AND :end"
     )
-    List<Appointment> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+    List<BookedSlot> findBookedSlotsByDoctorIdInAndAppointmentTimeBetween(
+            Collection<Long> doctorIds,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    @Query(
+            SELECT_APPOINTMENT_DTO + "WHERE d.id = :doctorId AND p.name LIKE CONCAT('%', :patientName, '%') AND a.appointmentTime BETWEEN :start AND :end ORDER BY a.appointmentTime"
+    )
+    List<AppointmentDTO> findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(
             Long doctorId,
             String patientName,
             LocalDateTime start,
             LocalDateTime end
     );
 
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM Appointment a WHERE a.doctor.id = :doctorId")
-    void deleteAllByDoctorId(Long doctorId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_APPOINTMENT_DTO + "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.id")
+    Stream<AppointmentDTO> streamDtoByAppointmentTimeBetween(LocalDateTime from, LocalDateTime to);
 
-    List<Appointment> findByPatientId(Long patientId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(
+            SELECT_APPOINTMENT_DTO + "WHERE d.id = :doctorId AND a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.appointmentTime, a.id"
+    )
+    Stream<AppointmentDTO> streamDtoByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
+    @Query("SELECT a.id FROM Appointment a WHERE a.doctor.id = :doctorId")
+    List<Long> findIdsByDoctorId(Long doctorId, Pageable pageable);
+
+    @Query(SELECT_APPOINTMENT_DTO + "WHERE p.id = :patientId AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<AppointmentDTO> findDtoByPatientIdAfter(
+            Long patientId,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
+    );
 
-    List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(
+    @Query(SELECT_APPOINTMENT_DTO + "WHERE p.id = :patientId AND a.appointmentTime < :before AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<AppointmentDTO> findDtoByPatientIdBefore(
             Long patientId,
-            int status
+            LocalDateTime before,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
     );
 
     @Query(
-            "SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId"
+            SELECT_APPOINTMENT_DTO + "WHERE p.id = :patientId AND LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND " + AFTER_CURSOR + ORDER_BY_CURSOR
     )
-    List<Appointment> filterByDoctorNameAndPatientId(
+    List<AppointmentDTO> findDtoByDoctorNameAndPatientIdAfter(
             String doctorName,
-            Long patientId
+            Long patientId,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
     );
 
     @Query(
-            "SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId AND a.status = :status"
+            SELECT_APPOINTMENT_DTO + "WHERE p.id = :patientId AND a.appointmentTime < :before AND LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND " + AFTER_CURSOR + ORDER_BY_CURSOR
     )
-    List<Appointment> filterByDoctorNameAndPatientIdAndStatus(
+    List<AppointmentDTO> findDtoByDoctorNameAndPatientIdBefore(
             String doctorName,
             Long patientId,
-            int status
+            LocalDateTime before,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
     );
 
+    @Query("SELECT a.id FROM Appointment a WHERE a.status = :status AND a.appointmentTime < :before ORDER BY a.appointmentTime")
+    List<Long> findIdsByStatusAndAppointmentTimeBefore(int status, LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    // Only rows still in the expected status change, so a row completed since its id was read keeps its status
+    @Query("UPDATE Appointment a SET a.status = :status WHERE a.id IN :ids AND a.status = :expected")
+    int updateStatusByIdInAndStatus(int status, Collection<Long> ids, int expected);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
     @Modifying
     @Query("UPDATE Appointment a SET a.status = :status WHERE a.id = :id")
     void updateStatus(int status, long id);
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.project.back_end.repo;
+
+import static com.project.back_end.repo.AppointmentRepository.AFTER_CURSOR;
+import static com.project.back_end.repo.AppointmentRepository.EXPORT_FETCH_SIZE;
+import static com.project.back_end.repo.AppointmentRepository.ORDER_BY_CURSOR;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.ArchivedAppointment;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+    String SELECT_ARCHIVED_DTO =
+            "SELECT new com.project.back_end.DTO.AppointmentDTO(a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status) FROM ArchivedAppointment a JOIN a.doctor d JOIN a.patient p ";
+
+    @Query(SELECT_ARCHIVED_DTO + "WHERE p.id = :patientId AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<AppointmentDTO> findDtoByPatientIdAfter(
+            Long patientId,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(
+            SELECT_ARCHIVED_DTO + "WHERE p.id = :patientId AND LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND " + AFTER_CURSOR + ORDER_BY_CURSOR
+    )
+    List<AppointmentDTO> findDtoByDoctorNameAndPatientIdAfter(
+            String doctorName,
+            Long patientId,
+            LocalDateTime afterTime,
+            Long afterId,
+            Pageable pageable
+    );
+
+    @Query(
+            SELECT_ARCHIVED_DTO + "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end ORDER BY a.appointmentTime"
+    )
+    List<AppointmentDTO> findDtoByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    @Query(
+            SELECT_ARCHIVED_DTO + "WHERE d.id = :doctorId AND p.name LIKE CONCAT('%', :patientName, '%') AND a.appointmentTime BETWEEN :start AND :end ORDER BY a.appointmentTime"
+    )
+    List<AppointmentDTO> findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(
+            Long doctorId,
+            String patientName,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_ARCHIVED_DTO + "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.id")
+    Stream<AppointmentDTO> streamDtoByAppointmentTimeBetween(LocalDateTime from, LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(
+            SELECT_ARCHIVED_DTO + "WHERE d.id = :doctorId AND a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.appointmentTime, a.id"
+    )
+    Stream<AppointmentDTO> streamDtoByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
+    @Modifying
+    @Query(
+            value = "INSERT INTO appointment_archive (id, appointment_time, status, doctor_id, patient_id) SELECT id, appointment_time, status, doctor_id, patient_id FROM appointment WHERE id IN (:ids)",
+            nativeQuery = true
+    )
+    int copyFromAppointments(Collection<Long> ids);
+
+    @Query("SELECT MAX(a.appointmentTime) FROM ArchivedAppointment a")
+    LocalDateTime findNewestAppointmentTime();
+
+    @Query("SELECT a.id FROM ArchivedAppointment a WHERE a.doctor.id = :doctorId")
+    List<Long> findIdsByDoctorId(Long doctorId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedAppointment a WHERE a.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,11 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.DoctorDeletion;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DoctorDeletionRepository extends JpaRepository<DoctorDeletion, Long> {
+    List<DoctorDeletion> findByStatus(String status);
+}
@@ -1,25 +1,59 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.DoctorSlotLabel;
+import com.project.back_end.DTO.DoctorSummary;
 import com.project.back_end.models.Doctor;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor> {
     Doctor findByEmail(String email);
 
-    @Query("SELECT d FROM Doctor d WHERE d.name LIKE CONCAT('%', :name, '%')")
-    List<Doctor> findByNameLike(String name);
+    @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.availableTimes WHERE d.id = :id AND d.deleting = false")
+    Optional<Doctor> findWithAvailableTimesById(Long id);
+
+    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.availableTimes WHERE d.id IN :ids AND d.deleting = false")
+    List<Doctor> findWithAvailableTimesByIdIn(Collection<Long> ids);
+
+    // Plain equality so idx_doctor_specialty applies; the column's case-insensitive collation does the folding.
+    // Only ids are kept in the query cache, the doctors and their slots come from the entity and collection regions
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Doctor.SPECIALTY_QUERY_CACHE_REGION)
+    })
+    @Query("SELECT d FROM Doctor d WHERE d.specialty = :specialty AND d.deleting = false ORDER BY d.id")
+    List<Doctor> findBySpecialty(String specialty);
+
+    // Keyset page of one specialty for batch availability; cached like findBySpecialty, per cursor and page size
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Doctor.SPECIALTY_QUERY_CACHE_REGION)
+    })
+    @Query("SELECT d FROM Doctor d WHERE d.specialty = :specialty AND d.deleting = false AND d.id > :afterId ORDER BY d.id")
+    List<Doctor> findBySpecialtyAndIdGreaterThan(String specialty, Long afterId, Pageable pageable);
 
     @Query(
-            "SELECT d FROM Doctor d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) AND LOWER(d.specialty) = LOWER(:specialty)"
+            "SELECT new com.project.back_end.DTO.DoctorSummary(d.id, d.name, d.specialty, d.email, d.phone) FROM Doctor d WHERE d.id > :afterId AND d.deleting = false ORDER BY d.id"
     )
-    List<Doctor> findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(
-            String name,
-            String specialty
-    );
+    List<DoctorSummary> findSummariesByIdGreaterThan(Long afterId, Pageable pageable);
+
+    // Slots not yet backfilled by TimeSlotMigration have no startMinute and fall back to label order
+    @Query("SELECT d.id AS doctorId, t.label AS label FROM Doctor d JOIN d.availableTimes t WHERE d.id IN :ids "
+            + "ORDER BY d.id, t.startMinute, t.label")
+    List<DoctorSlotLabel> findSlotLabelsByDoctorIdIn(Collection<Long> ids);
 
-    List<Doctor> findBySpecialtyIgnoreCase(String specialty);
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE Doctor d SET d.deleting = true WHERE d.id = :id")
+    int markDeleting(Long id);
+}
@@ -0,0 +1,47 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class DoctorSpecifications {
+
+    private DoctorSpecifications() {
+    }
+
+    // Any argument may be null to leave that dimension unfiltered; morning selects AM (true) or PM (false) slots.
+    // ids, when given, are the doctors already known to match the name, so the LIKE scan is skipped.
+    // Specialty is compared as-is so idx_doctor_specialty applies. That makes the match depend on the column's
+    // case-insensitive collation (MySQL's default); a case-sensitive collation would make "cardiology" miss
+    // "Cardiology", and H2 tests need IGNORECASE=TRUE to behave the same.
+    public static Specification<Doctor> filter(String name, Collection<Long> ids, String specialty, Boolean morning) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isFalse(root.get("deleting")));
+            if (ids != null) {
+                predicates.add(root.get("id").in(ids));
+            } else if (name != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+            }
+            if (specialty != null) {
+                predicates.add(cb.equal(root.get("specialty"), specialty));
+            }
+            if (morning != null) {
+                Subquery<Long> slots = query.subquery(Long.class);
+                Root<Doctor> doctor = slots.from(Doctor.class);
+                Join<Doctor, TimeSlot> slot = doctor.join("availableTimes");
+                slots.select(doctor.get("id"))
+                        .where(cb.equal(doctor.get("id"), root.get("id")), cb.equal(slot.get("morning"), morning));
+                predicates.add(cb.exists(slots));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
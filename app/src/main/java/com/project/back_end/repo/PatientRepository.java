@@ -8,5 +8,5 @@ import org.springframework.stereotype.Repository;
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     Patient findByEmail(String email);
 
-    Patient findByEmailOrPhone(String email, String phone);
+    Patient findByPhone(String phone);
 }
\ No newline at end of file
@@ -1,10 +1,20 @@
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Prescription;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 public interface PrescriptionRepository
         extends MongoRepository<Prescription, String> {
     List<Prescription> findByAppointmentId(Long appointmentId);
+
+    List<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    @Query(
+            value = "{ 'appointmentId': { $in: ?0 } }",
+            fields = "{ 'appointmentId': 1, 'medication': 1, 'dosage': 1, 'doctorNotes': 1 }"
+    )
+    List<Prescription> findSummariesByAppointmentIdIn(Collection<Long> appointmentIds);
 }
\ No newline at end of file
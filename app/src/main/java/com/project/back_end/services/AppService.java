@@ -1,21 +1,17 @@
 package com.project.back_end.services;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Appointment;
-import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AdminRepository;
-import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
 
 @org.springframework.stereotype.Service
@@ -23,19 +19,24 @@ public class AppService {
 
     private final TokenService tokenService;
     private final AdminRepository adminRepository;
-    private final DoctorRepository doctorRepository;
     private final DoctorService doctorService;
     private final PatientRepository patientRepository;
     private final PatientService patientService;
+    private final SlotIndex slotIndex;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+    private final ObjectMapper objectMapper;
 
     public AppService(TokenService tokenService, AdminRepository adminRepository, DoctorService doctorService,
-                   DoctorRepository doctorRepository, PatientRepository patientRepository,PatientService patientService) {
+                   PatientRepository patientRepository,PatientService patientService,
+                   SlotIndex slotIndex, DoctorDirectoryCache doctorDirectoryCache, ObjectMapper objectMapper) {
         this.tokenService = tokenService;
         this.adminRepository = adminRepository;
         this.doctorService = doctorService;
-        this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
         this.patientService=patientService;
+        this.slotIndex=slotIndex;
+        this.doctorDirectoryCache = doctorDirectoryCache;
+        this.objectMapper = objectMapper;
     }
 
     public ResponseEntity<Map<String, String>> validateToken(String token, String user) {
@@ -69,59 +70,32 @@ public class AppService {
         }
     }
 
-    public Map<String, Object> filterDoctor(String name, String specility, String time) {
-        Map<String, Object> map = new HashMap<>();
-        if (!name.equals("null") && !time.equals("null") && !specility.equals("null")) {
-            map = doctorService.filterDoctorsByNameSpecilityandTime(name, specility, time);
-        }
-
-        else if (!name.equals("null") && !time.equals("null")) {
-            map = doctorService.filterDoctorByNameAndTime(name, time);
-        } else if (!name.equals("null") && !specility.equals("null")) {
-            map = doctorService.filterDoctorByNameAndSpecility(name, specility);
-        } else if (!specility.equals("null") && !time.equals("null")) {
-            map = doctorService.filterDoctorByTimeAndSpecility(specility, time);
-        } else if (!name.equals("null")) {
-            map = doctorService.findDoctorByName(name);
-        } else if (!specility.equals("null")) {
-            map = doctorService.filterDoctorBySpecility(specility);
-        } else if (!time.equals("null")) {
-            map = doctorService.filterDoctorsByTime(time);
-        } else {
-            map.put("doctors", doctorService.getDoctors());
-        }
-        return map;
+    public DoctorDirectoryCache.Body filterDoctor(String name, String specility, String time, int page, int size) {
+        String doctorName = nullIfAbsent(name);
+        String specialty = nullIfAbsent(specility);
+        String amOrPm = nullIfAbsent(time);
+        return doctorDirectoryCache.get(doctorName, specialty, amOrPm, page, size, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(doctorService.filterDoctors(doctorName, specialty, amOrPm, page,
+                        size));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize doctor filter result", e);
+            }
+        });
+    }
 
+    private String nullIfAbsent(String value) {
+        return value == null || value.equals("null") || value.isBlank() ? null : value.trim();
     }
 
     public int validateAppointment(Appointment appointment) {
-        Doctor doctor = appointment.getDoctor();
-        Optional<Doctor> result = doctorRepository.findById(doctor.getId());
-        if (result.isEmpty()) {
-            return -1;
-        }
-        LocalDate appointmentDate = appointment.getAppointmentDate();
-        LocalTime appointmentTime = appointment.getAppointmentTimeOnly();
-        List<String> availableTime = doctorService.getDoctorAvailability(doctor.getId(), appointmentDate);
-
-        for (String timeSlot : availableTime) {
-            String[] times = timeSlot.split("-");
-            LocalTime startTime = LocalTime.parse(times[0]);
-
-            if (appointmentTime.equals(startTime)) {
-                return 1;
-            }
-
-        }
-
-        return 0;
+        return slotIndex.check(appointment.getDoctor().getId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTimeOnly());
     }
     public boolean validatePatient(Patient patient) {
-        Patient result = patientRepository.findByEmailOrPhone(patient.getEmail(), patient.getPhone());
-        if (result != null) {
-            return false;
-        }
-        return true;
+        // Two lookups rather than one OR so each side stays on its own index
+        return patientRepository.findByEmail(patient.getEmail()) == null
+                && patientRepository.findByPhone(patient.getPhone()) == null;
     }
 
     public ResponseEntity<Map<String, String>> validatePatientLogin(Login login) {
@@ -148,26 +122,24 @@ public class AppService {
         }
     }
 
-    public ResponseEntity<Map<String,Object>> filterPatient(String condition,String name,String token)
+    public ResponseEntity<Map<String,Object>> filterPatient(String condition,String name,Long patientId,
+                                                            String cursor,int size)
     {
-        String extractedEmail = tokenService.extractEmail(token);
-        Long patientId = patientRepository.findByEmail(extractedEmail).getId();
-
         if(name.equals("null") && !condition.equals("null"))
         {
-            return patientService.filterByCondition(condition,patientId);
+            return patientService.filterByCondition(condition,patientId,cursor,size);
         }
         else if(condition.equals("null")&& !name.equals("null"))
         {
-            return patientService.filterByDoctor(name,patientId);
+            return patientService.filterByDoctor(name,patientId,cursor,size);
         }
         else if(!condition.equals("null")&& !name.equals("null"))
         {
-            return patientService.filterByDoctorAndCondition(condition,name,patientId);
+            return patientService.filterByDoctorAndCondition(condition,name,patientId,cursor,size);
         }
         else
         {
-            return patientService.getPatientAppointment(patientId,token);
+            return patientService.getPatientAppointment(patientId,cursor,size);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.project.back_end.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves completed and expired appointments older than the horizon into appointment_archive, a bounded
+ * batch per transaction, so the hot table only holds recent and upcoming appointments. Readers ask
+ * reachesArchive before paying for the extra archive query; it compares against the newest archived
+ * appointment time, so nothing is read from an empty archive or past the newest archived row.
+ */
+@Component
+public class AppointmentArchive {
+
+    private static final Comparator<AppointmentDTO> BY_CURSOR =
+            Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long horizonDays;
+    private final int batchSize;
+
+    private volatile LocalDateTime archivedThrough;
+
+    public AppointmentArchive(AppointmentRepository appointmentRepository,
+                              ArchivedAppointmentRepository archivedAppointmentRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${appointments.archive.horizon-days:365}") long horizonDays,
+                              @Value("${appointments.archive.batch-size:1000}") int batchSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    public boolean reachesArchive(LocalDateTime time) {
+        LocalDateTime through = archivedThrough;
+        return through != null && !time.isAfter(through);
+    }
+
+    // Refreshed on a short schedule as well as after each run, because another instance may have archived rows
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${appointments.archive.watermark-refresh-ms:60000}",
+            initialDelayString = "${appointments.archive.watermark-refresh-ms:60000}")
+    public void refreshWatermark() {
+        try {
+            archivedThrough = archivedAppointmentRepository.findNewestAppointmentTime();
+        } catch (Exception e) {
+            // Everything archived was older than the horizon when it moved, so this bound is always safe
+            System.err.println("Error reading archive watermark: " + e.getMessage());
+            archivedThrough = horizon();
+        }
+    }
+
+    public static List<AppointmentDTO> merge(List<AppointmentDTO> hot, List<AppointmentDTO> archived, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<AppointmentDTO> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(archived);
+        merged.addAll(hot);
+        merged.sort(BY_CURSOR);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.archive.interval-ms:3600000}",
+            initialDelayString = "${appointments.archive.initial-delay-ms:60000}")
+    public void archiveOld() {
+        LocalDateTime cutoff = horizon();
+        int archived = 0;
+        try {
+            archived += archiveStatus(Appointment.COMPLETED, cutoff);
+            archived += archiveStatus(Appointment.EXPIRED, cutoff);
+        } catch (Exception e) {
+            System.err.println("Error archiving appointments: " + e.getMessage());
+        }
+        if (archived > 0) {
+            System.out.println("Archived " + archived + " appointments older than " + cutoff);
+            refreshWatermark();
+        }
+    }
+
+    private int archiveStatus(int status, LocalDateTime cutoff) {
+        int total = 0;
+        Integer moved;
+        do {
+            moved = transactionTemplate.execute(tx -> {
+                List<Long> ids = appointmentRepository.findIdsByStatusAndAppointmentTimeBefore(status, cutoff,
+                        PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedAppointmentRepository.copyFromAppointments(ids);
+                appointmentRepository.deleteAllByIdIn(ids);
+                return ids.size();
+            });
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    private LocalDateTime horizon() {
+        return LocalDateTime.now().minusDays(horizonDays);
+    }
+}
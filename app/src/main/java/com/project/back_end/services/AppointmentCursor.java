@@ -0,0 +1,38 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for time-ordered appointment history: the (appointmentTime, id) of the
+ * last row returned. The first page starts before any stored appointment.
+ */
+public record AppointmentCursor(LocalDateTime appointmentTime, long id) {
+
+    public static final AppointmentCursor START = new AppointmentCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    // Moves a cursor that sits before the given time up to it, so the next page starts there
+    public AppointmentCursor notBefore(LocalDateTime time) {
+        return appointmentTime.isBefore(time) ? new AppointmentCursor(time, 0) : this;
+    }
+
+    public String encode() {
+        String raw = appointmentTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AppointmentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.back_end.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.repo.AppointmentRepository;
+
+/**
+ * Moves scheduled appointments whose time has passed to EXPIRED, a batch per transaction so a large
+ * backlog never holds long row locks.
+ */
+@Component
+public class AppointmentExpiryJob {
+
+    private final AppointmentRepository appointmentRepository;
+    private final int batchSize;
+    private final long graceMinutes;
+
+    public AppointmentExpiryJob(AppointmentRepository appointmentRepository,
+                                @Value("${appointments.expiry.batch-size:500}") int batchSize,
+                                @Value("${appointments.expiry.grace-minutes:60}") long graceMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.batchSize = batchSize;
+        this.graceMinutes = graceMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.expiry.interval-ms:300000}")
+    public void expireOverdue() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        int expired = 0;
+        try {
+            List<Long> ids;
+            do {
+                ids = appointmentRepository.findIdsByStatusAndAppointmentTimeBefore(Appointment.SCHEDULED, cutoff,
+                        PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    expired += appointmentRepository.updateStatusByIdInAndStatus(Appointment.EXPIRED, ids,
+                            Appointment.SCHEDULED);
+                }
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            System.err.println("Error expiring appointments: " + e.getMessage());
+        }
+        if (expired > 0) {
+            System.out.println("Expired " + expired + " overdue appointments");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.back_end.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
+
+/**
+ * Streams appointments straight from a forward-only result set to the response, one row at a time,
+ * so memory use does not grow with the size of the export. When the range reaches the archive, the
+ * archived rows are merged in from a second result set in the same order.
+ */
+@Service
+public class AppointmentExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CSV_HEADER =
+            "id,appointmentTime,status,doctorId,doctorName,patientId,patientName,patientEmail,patientPhone,patientAddress";
+
+    private static final Comparator<AppointmentDTO> BY_ID = Comparator.comparing(AppointmentDTO::getId);
+    private static final Comparator<AppointmentDTO> BY_TIME =
+            Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final AppointmentArchive appointmentArchive;
+    private final ObjectMapper objectMapper;
+
+    public AppointmentExportService(AppointmentRepository appointmentRepository,
+                                    ArchivedAppointmentRepository archivedAppointmentRepository,
+                                    AppointmentArchive appointmentArchive, ObjectMapper objectMapper) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.appointmentArchive = appointmentArchive;
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return CSV.equals(format) || NDJSON.equals(format);
+    }
+
+    // doctorId null exports the whole clinic; the transaction must span the write because rows arrive lazily
+    @Transactional(readOnly = true)
+    public void export(Long doctorId, LocalDateTime from, LocalDateTime to, String format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean withArchive = appointmentArchive.reachesArchive(from);
+        try (Stream<AppointmentDTO> hot = doctorId == null
+                ? appointmentRepository.streamDtoByAppointmentTimeBetween(from, to)
+                : appointmentRepository.streamDtoByDoctorIdAndAppointmentTimeBetween(doctorId, from, to);
+             Stream<AppointmentDTO> archived = !withArchive ? Stream.empty() : doctorId == null
+                     ? archivedAppointmentRepository.streamDtoByAppointmentTimeBetween(from, to)
+                     : archivedAppointmentRepository.streamDtoByDoctorIdAndAppointmentTimeBetween(doctorId, from, to)) {
+            if (CSV.equals(format)) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<AppointmentDTO> rows = merge(hot.iterator(), archived.iterator(), doctorId == null ? BY_ID : BY_TIME);
+            while (rows.hasNext()) {
+                AppointmentDTO appointment = rows.next();
+                if (CSV.equals(format)) {
+                    writeCsv(writer, appointment);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(appointment));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // Both inputs are sorted by the comparator; the result is too, holding at most one row from each side
+    private static Iterator<AppointmentDTO> merge(Iterator<AppointmentDTO> left, Iterator<AppointmentDTO> right,
+                                                  Comparator<AppointmentDTO> order) {
+        return new Iterator<>() {
+            private AppointmentDTO nextLeft = left.hasNext() ? left.next() : null;
+            private AppointmentDTO nextRight = right.hasNext() ? right.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+
+            @Override
+            public AppointmentDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                AppointmentDTO result;
+                if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+                    result = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    result = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+
+    private static void writeCsv(Writer writer, AppointmentDTO appointment) throws IOException {
+        writer.write(String.valueOf(appointment.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(appointment.getAppointmentTime()));
+        writer.write(',');
+        writer.write(String.valueOf(appointment.getStatus()));
+        writer.write(',');
+        writer.write(String.valueOf(appointment.getDoctorId()));
+        writer.write(',');
+        writer.write(csvField(appointment.getDoctorName()));
+        writer.write(',');
+        writer.write(String.valueOf(appointment.getPatientId()));
+        writer.write(',');
+        writer.write(csvField(appointment.getPatientName()));
+        writer.write(',');
+        writer.write(csvField(appointment.getPatientEmail()));
+        writer.write(',');
+        writer.write(csvField(appointment.getPatientPhone()));
+        writer.write(',');
+        writer.write(csvField(appointment.getPatientAddress()));
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
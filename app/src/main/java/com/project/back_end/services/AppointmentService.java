@@ -2,19 +2,20 @@ package com.project.back_end.services;
 
 import com.project.back_end.DTO.AppointmentDTO;
 import com.project.back_end.models.Appointment;
-import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
-import com.project.back_end.repo.DoctorRepository;
-import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -23,33 +24,84 @@ import org.springframework.stereotype.Service;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
-    private final AppService service;
-    private final TokenService tokenService;
-    private final PatientRepository patientRepository;
-    private final DoctorRepository doctorRepository;
+    private final SlotIndex slotIndex;
+    private final BookingLocks bookingLocks;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final AppointmentArchive appointmentArchive;
 
     public AppointmentService(
             AppointmentRepository appointmentRepository,
-            AppService service,
-            TokenService tokenService,
-            PatientRepository patientRepository,
-            DoctorRepository doctorRepository
+            SlotIndex slotIndex,
+            BookingLocks bookingLocks,
+            ArchivedAppointmentRepository archivedAppointmentRepository,
+            AppointmentArchive appointmentArchive
     ) {
         this.appointmentRepository = appointmentRepository;
-        this.service = service;
-        this.tokenService = tokenService;
-        this.patientRepository = patientRepository;
-        this.doctorRepository = doctorRepository;
+        this.slotIndex = slotIndex;
+        this.bookingLocks = bookingLocks;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.appointmentArchive = appointmentArchive;
     }
 
-    public int bookAppointment(Appointment appointment) {
+    public ResponseEntity<Map<String, String>> bookAppointment(Appointment appointment) {
+        Map<String, String> response = new HashMap<>();
+        Long doctorId = appointment.getDoctor().getId();
+        ReentrantLock lock = bookingLocks.forDoctor(doctorId);
+        lock.lock();
         try {
-            appointmentRepository.save(appointment);
-            return 1;
+            int validationResult = validateSlot(appointment);
+            if (validationResult == -1) {
+                response.put("message", "Invalid doctor ID.");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+            if (validationResult == 1) {
+                appointmentRepository.save(appointment);
+                slotIndex.book(doctorId, appointment.getAppointmentTime());
+                response.put("message", "Appointment booked successfully.");
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance took the slot first; the unique constraint is the final arbiter
+            if (!isSlotConflict(e)) {
+                System.err.println("Error booking appointment: " + e.getMessage());
+                response.put("message", "Internal server error during booking.");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }
         } catch (Exception e) {
             System.err.println("Error booking appointment: " + e.getMessage());
-            return 0;
+            response.put("message", "Internal server error during booking.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } finally {
+            lock.unlock();
+        }
+        response.put(
+                "message",
+                "Appointment already booked for the given time or doctor not available."
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    // Drivers report the constraint name differently (MySQL prefixes the table, H2 upper-cases it), so it is
+    // matched case-insensitively against Hibernate's extracted name or, failing that, the driver message
+    static boolean isSlotConflict(DataIntegrityViolationException e) {
+        String detail = null;
+        for (Throwable cause = e; cause != null && detail == null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                detail = violation.getConstraintName();
+            }
         }
+        if (detail == null) {
+            detail = e.getMostSpecificCause().getMessage();
+        }
+        return detail != null && detail.toLowerCase(Locale.ROOT).contains(Appointment.SLOT_CONSTRAINT);
+    }
+
+    private int validateSlot(Appointment appointment) {
+        return slotIndex.check(
+                appointment.getDoctor().getId(),
+                appointment.getAppointmentDate(),
+                appointment.getAppointmentTimeOnly()
+        );
     }
 
     public ResponseEntity<Map<String, String>> updateAppointment(
@@ -79,20 +131,40 @@ public class AppointmentService {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
 
-        int validationResult = service.validateAppointment(appointment);
-        if (validationResult == 1) {
-            try {
+        // Moving to another doctor releases a slot of the old one, so both doctors' stripes are held
+        List<ReentrantLock> locks = bookingLocks.forDoctors(
+                existingAppointment.get().getDoctor().getId(), appointment.getDoctor().getId());
+        locks.forEach(ReentrantLock::lock);
+        try {
+            int validationResult = validateSlot(appointment);
+            if (validationResult == 1) {
+                Appointment previous = existingAppointment.get();
+                Long previousDoctorId = previous.getDoctor().getId();
+                LocalDateTime previousTime = previous.getAppointmentTime();
                 appointmentRepository.save(appointment);
+                slotIndex.release(previousDoctorId, previousTime);
+                slotIndex.book(appointment.getDoctor().getId(), appointment.getAppointmentTime());
                 response.put("message", "Appointment updated successfully.");
                 return ResponseEntity.status(HttpStatus.OK).body(response);
-            } catch (Exception e) {
+            } else if (validationResult == -1) {
+                response.put("message", "Invalid doctor ID.");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Lost the slot to a booking on another instance
+            if (!isSlotConflict(e)) {
                 System.err.println("Error updating appointment: " + e.getMessage());
                 response.put("message", "Internal server error during update.");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
             }
-        } else if (validationResult == -1) {
-            response.put("message", "Invalid doctor ID.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            System.err.println("Error updating appointment: " + e.getMessage());
+            response.put("message", "Internal server error during update.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
         }
 
         response.put(
@@ -104,7 +176,7 @@ public class AppointmentService {
 
     public ResponseEntity<Map<String, String>> cancelAppointment(
             long id,
-            String token
+            Long patientId
     ) {
         Map<String, String> response = new HashMap<>();
         Optional<Appointment> appointmentOptional = appointmentRepository.findById(
@@ -116,16 +188,17 @@ public class AppointmentService {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
-        String extractedEmail = tokenService.extractEmail(token);
-        Patient patient = patientRepository.findByEmail(extractedEmail);
-
-        if (!patient.getId().equals(appointmentOptional.get().getPatient().getId())) {
+        if (!patientId.equals(appointmentOptional.get().getPatient().getId())) {
             response.put("message", "Patient ID mismatch.");
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
         }
 
         try {
             appointmentRepository.delete(appointmentOptional.get());
+            slotIndex.release(
+                    appointmentOptional.get().getDoctor().getId(),
+                    appointmentOptional.get().getAppointmentTime()
+            );
             response.put("message", "Appointment cancelled successfully.");
             return ResponseEntity.status(HttpStatus.OK).body(response);
         } catch (Exception e) {
@@ -139,26 +212,24 @@ public class AppointmentService {
     public Map<String, Object> getAppointment(
             String patientName,
             LocalDate date,
-            String token
+            Long doctorId
     ) {
         Map<String, Object> map = new HashMap<>();
-        String extractedEmail = tokenService.extractEmail(token);
-        Long doctorId = doctorRepository.findByEmail(extractedEmail).getId();
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        List<Appointment> appointments;
+        List<AppointmentDTO> appointments;
 
         if (patientName.equals("null")) {
             appointments =
-                    appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
+                    appointmentRepository.findDtoByDoctorIdAndAppointmentTimeBetween(
                             doctorId,
                             startOfDay,
                             endOfDay
                     );
         } else {
             appointments =
-                    appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+                    appointmentRepository.findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(
                             doctorId,
                             patientName,
                             startOfDay,
@@ -166,31 +237,21 @@ public class AppointmentService {
                     );
         }
 
-        List<AppointmentDTO> appointmentDTOs = appointments
-                .stream()
-                .map(
-                        app ->
-                                new AppointmentDTO(
-                                        app.getId(),
-                                        app.getDoctor().getId(),
-                                        app.getDoctor().getName(),
-                                        app.getPatient().getId(),
-                                        app.getPatient().getName(),
-                                        app.getPatient().getEmail(),
-                                        app.getPatient().getPhone(),
-                                        app.getPatient().getAddress(),
-                                        app.getAppointmentTime(),
-                                        app.getStatus()
-                                )
-                )
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
+        if (appointmentArchive.reachesArchive(startOfDay)) {
+            List<AppointmentDTO> archived = patientName.equals("null")
+                    ? archivedAppointmentRepository.findDtoByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay,
+                            endOfDay)
+                    : archivedAppointmentRepository.findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(doctorId,
+                            patientName, startOfDay, endOfDay);
+            appointments = AppointmentArchive.merge(appointments, archived, Integer.MAX_VALUE);
+        }
+
+        map.put("appointments", appointments);
         return map;
     }
 
     @Transactional
     public void changeStatus(long appointmentId) {
-        appointmentRepository.updateStatus(1, appointmentId);
+        appointmentRepository.updateStatus(Appointment.COMPLETED, appointmentId);
     }
 }
\ No newline at end of file
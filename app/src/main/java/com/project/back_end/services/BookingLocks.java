@@ -0,0 +1,43 @@
+package com.project.back_end.services;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks that serialize slot checks and inserts per doctor. Doctor ids are sequential,
+ * so mapping them by modulo keeps any window of {@code stripes} consecutive doctors contention-free.
+ */
+@Component
+public class BookingLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public BookingLocks(@Value("${booking.lock-stripes:4096}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock forDoctor(long doctorId) {
+        return stripes[stripe(doctorId)];
+    }
+
+    // Both doctors' stripes, each once and in stripe order, so moves between two doctors in opposite
+    // directions cannot deadlock; take them in list order and release in reverse
+    public List<ReentrantLock> forDoctors(long firstDoctorId, long secondDoctorId) {
+        int first = stripe(firstDoctorId);
+        int second = stripe(secondDoctorId);
+        if (first == second) {
+            return List.of(stripes[first]);
+        }
+        return List.of(stripes[Math.min(first, second)], stripes[Math.max(first, second)]);
+    }
+
+    private int stripe(long doctorId) {
+        return (int) Math.floorMod(doctorId, (long) stripes.length);
+    }
+}
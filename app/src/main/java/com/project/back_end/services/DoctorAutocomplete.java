@@ -0,0 +1,174 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix lookup over the names and specialties held by DoctorNames, as sorted term arrays. DoctorNames
+ * updates them under its lock and new arrays are published whole, so suggestions are a lock-free search.
+ */
+class DoctorAutocomplete {
+
+    private volatile Terms names = Terms.of(new ArrayList<>());
+    private volatile Terms specialties = Terms.of(new ArrayList<>());
+
+    // Name matches rank ahead of specialty matches; each doctor is suggested once
+    List<Long> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : normalize(prefix);
+        Set<Long> ids = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            names.collect(normalized, limit, ids);
+            specialties.collect(normalized, limit, ids);
+        }
+        return List.copyOf(ids);
+    }
+
+    void rebuild(Map<Long, DoctorNames.Entry> doctors) {
+        List<Term> nameTerms = new ArrayList<>();
+        List<Term> specialtyTerms = new ArrayList<>();
+        doctors.forEach((id, doctor) -> {
+            nameTerms.addAll(nameTerms(id, doctor));
+            specialtyTerms.addAll(specialtyTerms(id, doctor));
+        });
+        names = Terms.of(nameTerms);
+        specialties = Terms.of(specialtyTerms);
+    }
+
+    // A single write merges the doctor's few terms into copies of the sorted arrays, linear rather than a re-sort
+    void replace(long id, DoctorNames.Entry previous, DoctorNames.Entry current) {
+        Terms nextNames = names;
+        Terms nextSpecialties = specialties;
+        if (previous != null) {
+            nextNames = nextNames.without(id, nameTerms(id, previous));
+            nextSpecialties = nextSpecialties.without(id, specialtyTerms(id, previous));
+        }
+        if (current != null) {
+            nextNames = nextNames.with(nameTerms(id, current));
+            nextSpecialties = nextSpecialties.with(specialtyTerms(id, current));
+        }
+        names = nextNames;
+        specialties = nextSpecialties;
+    }
+
+    // Every word of a name starts a term, so "smi" finds "Alice Smith" as well as "Smith Jones"
+    private static List<Term> nameTerms(long id, DoctorNames.Entry doctor) {
+        List<Term> terms = new ArrayList<>();
+        if (doctor.name() != null) {
+            String name = normalize(doctor.name());
+            int start = 0;
+            while (start >= 0) {
+                terms.add(new Term(name.substring(start), id));
+                int space = name.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+        }
+        return terms;
+    }
+
+    private static List<Term> specialtyTerms(long id, DoctorNames.Entry doctor) {
+        List<Term> terms = new ArrayList<>();
+        if (doctor.specialty() != null) {
+            terms.add(new Term(normalize(doctor.specialty()), id));
+        }
+        return terms;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Term(String text, long id) {
+    }
+
+    private static final class Terms {
+        private final String[] texts;
+        private final long[] ids;
+
+        private Terms(String[] texts, long[] ids) {
+            this.texts = texts;
+            this.ids = ids;
+        }
+
+        private static final Comparator<Term> ORDER = Comparator.comparing(Term::text).thenComparingLong(Term::id);
+
+        static Terms of(List<Term> terms) {
+            terms.sort(ORDER);
+            String[] texts = new String[terms.size()];
+            long[] ids = new long[terms.size()];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = terms.get(i).text();
+                ids[i] = terms.get(i).id();
+            }
+            return new Terms(texts, ids);
+        }
+
+        Terms with(List<Term> added) {
+            if (added.isEmpty()) {
+                return this;
+            }
+            added.sort(ORDER);
+            String[] mergedTexts = new String[texts.length + added.size()];
+            long[] mergedIds = new long[mergedTexts.length];
+            int existing = 0;
+            int next = 0;
+            for (int i = 0; i < mergedTexts.length; i++) {
+                Term term = next < added.size() ? added.get(next) : null;
+                if (term == null || (existing < texts.length && compareAt(existing, term) <= 0)) {
+                    mergedTexts[i] = texts[existing];
+                    mergedIds[i] = ids[existing++];
+                } else {
+                    mergedTexts[i] = term.text();
+                    mergedIds[i] = term.id();
+                    next++;
+                }
+            }
+            return new Terms(mergedTexts, mergedIds);
+        }
+
+        private int compareAt(int index, Term term) {
+            int order = texts[index].compareTo(term.text());
+            return order != 0 ? order : Long.compare(ids[index], term.id());
+        }
+
+        Terms without(long id, List<Term> removed) {
+            if (removed.isEmpty()) {
+                return this;
+            }
+            Set<String> removedTexts = new HashSet<>();
+            removed.forEach(term -> removedTexts.add(term.text()));
+            String[] keptTexts = new String[texts.length];
+            long[] keptIds = new long[texts.length];
+            int kept = 0;
+            for (int i = 0; i < texts.length; i++) {
+                if (ids[i] != id || !removedTexts.contains(texts[i])) {
+                    keptTexts[kept] = texts[i];
+                    keptIds[kept++] = ids[i];
+                }
+            }
+            return new Terms(Arrays.copyOf(keptTexts, kept), Arrays.copyOf(keptIds, kept));
+        }
+
+        void collect(String prefix, int limit, Set<Long> result) {
+            int low = 0;
+            int high = texts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (texts[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < texts.length && result.size() < limit && texts[i].startsWith(prefix); i++) {
+                result.add(ids[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.back_end.services;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.models.DoctorDeletion;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
+import com.project.back_end.repo.DoctorDeletionRepository;
+import com.project.back_end.repo.DoctorRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes a doctor in the background: the doctor is hidden at once, then their appointments are removed
+ * in small transactions so no single statement holds locks long enough to stall other bookings.
+ * Progress lives in doctor_deletion; RUNNING jobs are picked up again on startup.
+ */
+@Component
+public class DoctorDeletionJob {
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final DoctorDeletionRepository doctorDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    // One deletion at a time keeps the background write load bounded
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "doctor-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DoctorDeletionJob(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
+                             ArchivedAppointmentRepository archivedAppointmentRepository,
+                             DoctorDeletionRepository doctorDeletionRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${doctor.deletion.chunk-size:500}") int chunkSize,
+                             @Value("${doctor.deletion.pause-ms:20}") long pauseMillis) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.doctorDeletionRepository = doctorDeletionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // Hides the doctor and records the job before returning; a FAILED job is restarted
+    public DoctorDeletion start(long doctorId) {
+        DoctorDeletion deletion = transactionTemplate.execute(tx -> {
+            doctorRepository.markDeleting(doctorId);
+            DoctorDeletion existing = doctorDeletionRepository.findById(doctorId).orElse(null);
+            if (existing == null) {
+                return doctorDeletionRepository.save(new DoctorDeletion(doctorId));
+            }
+            existing.setStatus(DoctorDeletion.RUNNING);
+            return existing;
+        });
+        executor.submit(() -> run(doctorId));
+        return deletion;
+    }
+
+    public DoctorDeletion progress(long doctorId) {
+        return doctorDeletionRepository.findById(doctorId).orElse(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (DoctorDeletion deletion : doctorDeletionRepository.findByStatus(DoctorDeletion.RUNNING)) {
+            executor.submit(() -> run(deletion.getDoctorId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void run(long doctorId) {
+        try {
+            while (deleteChunk(doctorId, false) == chunkSize) {
+                pause();
+            }
+            while (deleteChunk(doctorId, true) == chunkSize) {
+                pause();
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                doctorRepository.deleteById(doctorId);
+                doctorDeletionRepository.findById(doctorId).ifPresent(d -> d.setStatus(DoctorDeletion.DONE));
+            });
+        } catch (Exception e) {
+            // Shutdown, not failure, whether the interrupt reached pause() or a query: the job stays RUNNING
+            // so resumeInterrupted picks it up on the next start
+            if (e instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                Thread.currentThread().interrupt();
+                System.out.println("Deletion of doctor " + doctorId + " paused for shutdown");
+                return;
+            }
+            System.err.println("Error deleting doctor " + doctorId + ": " + e.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> doctorDeletionRepository.findById(doctorId)
+                    .ifPresent(d -> d.setStatus(DoctorDeletion.FAILED)));
+        }
+    }
+
+    private int deleteChunk(long doctorId, boolean archived) {
+        Integer deleted = transactionTemplate.execute(tx -> {
+            PageRequest chunk = PageRequest.of(0, chunkSize);
+            List<Long> ids = archived
+                    ? archivedAppointmentRepository.findIdsByDoctorId(doctorId, chunk)
+                    : appointmentRepository.findIdsByDoctorId(doctorId, chunk);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            if (archived) {
+                archivedAppointmentRepository.deleteAllByIdIn(ids);
+            } else {
+                appointmentRepository.deleteAllByIdIn(ids);
+            }
+            doctorDeletionRepository.findById(doctorId).ifPresent(d -> d.addAppointmentsDeleted(ids.size()));
+            return ids.size();
+        });
+        return deleted;
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        } else if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.back_end.services;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Serialized doctor filter results, keyed by the normalized filter and bounded by total bytes. Every doctor
+ * write advances the directory version and drops the entries; a result loaded across a write is not stored.
+ */
+@Component
+public class DoctorDirectoryCache {
+
+    private final ReadThroughLru<String, Body> entries;
+
+    public DoctorDirectoryCache(@Value("${doctor.filter-cache.max-bytes:8388608}") long maxBytes) {
+        // Any two loads of one key in the same version serialize the same rows, so either may be kept
+        this.entries = new ReadThroughLru<>(maxBytes, body -> body.json().length, body -> true,
+                (current, loaded) -> true);
+    }
+
+    public void advance() {
+        entries.clear();
+    }
+
+    // Filter queries with several joins can take a while; concurrent misses on one key may each run it
+    public Body get(String name, String specialty, String time, int page, int size, Supplier<byte[]> loader) {
+        return entries.get(key(name, specialty, time, page, size), key -> {
+            byte[] json = loader.get();
+            return new Body(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        });
+    }
+
+    // Callers pass trimmed values. Specialty is compared under a case-insensitive collation and names with
+    // LOWER(), so case never changes the result; any time other than "am" filters to afternoon slots
+    static String key(String name, String specialty, String time, int page, int size) {
+        return normalize(name) + '\u0000' + normalize(specialty) + '\u0000'
+                + (time == null ? "" : time.equalsIgnoreCase("am") ? "am" : "pm") + '\u0000' + page + '\u0000' + size;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    public record Body(byte[] json, String etag) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram postings over the lower-cased names held by DoctorNames. The postings only narrow the candidates;
+ * each one is confirmed against the shared name map, so the index keeps ids rather than its own names.
+ */
+class DoctorNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, DoctorNames.Entry> doctors;
+    private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+
+    DoctorNameIndex(Map<Long, DoctorNames.Entry> doctors) {
+        this.doctors = doctors;
+    }
+
+    void add(Long id, String name) {
+        if (name == null) {
+            return;
+        }
+        for (String gram : grams(name)) {
+            grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    void remove(Long id, String name) {
+        if (name == null) {
+            return;
+        }
+        for (String gram : grams(name)) {
+            grams.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // Fragments shorter than a trigram have no postings to narrow by and scan the names instead
+    List<Long> idsByName(String fragment) {
+        List<Long> result = new ArrayList<>();
+        if (fragment.length() < GRAM) {
+            doctors.forEach((id, doctor) -> {
+                if (doctor.name() != null && doctor.name().contains(fragment)) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+        Set<Long> smallest = null;
+        for (String gram : grams(fragment)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids == null) {
+                return result;
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        for (Long id : smallest) {
+            DoctorNames.Entry doctor = doctors.get(id);
+            if (doctor != null && doctor.name() != null && doctor.name().contains(fragment)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
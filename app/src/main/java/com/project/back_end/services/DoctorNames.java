@@ -0,0 +1,91 @@
+package com.project.back_end.services;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.DTO.DoctorSummary;
+import com.project.back_end.repo.DoctorRepository;
+
+/**
+ * Lower-cased name and specialty of every doctor, loaded once the application is ready and kept in sync by
+ * doctor writes. The trigram name index and the prefix autocomplete are both derived from this one copy;
+ * until it is loaded, idsByName returns null and callers fall back to the SQL LIKE filter.
+ */
+@Component
+public class DoctorNames {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final DoctorRepository doctorRepository;
+
+    private final Map<Long, Entry> doctors = new ConcurrentHashMap<>();
+    private final DoctorNameIndex nameIndex = new DoctorNameIndex(doctors);
+    private final DoctorAutocomplete autocomplete = new DoctorAutocomplete();
+
+    private volatile boolean ready;
+
+    public DoctorNames(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long after = 0;
+        List<DoctorSummary> page;
+        do {
+            page = doctorRepository.findSummariesByIdGreaterThan(after, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (DoctorSummary doctor : page) {
+                store(doctor.getId(), doctor.getName(), doctor.getSpecialty());
+                after = doctor.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        autocomplete.rebuild(doctors);
+        ready = true;
+    }
+
+    public synchronized void put(Long id, String name, String specialty) {
+        Entry previous = store(id, name, specialty);
+        autocomplete.replace(id, previous, doctors.get(id));
+    }
+
+    public synchronized void remove(Long id) {
+        Entry previous = doctors.remove(id);
+        if (previous != null) {
+            nameIndex.remove(id, previous.name());
+            autocomplete.replace(id, previous, null);
+        }
+    }
+
+    // Ids whose name contains the fragment, or null while the names are still loading
+    public List<Long> idsByName(String fragment) {
+        return ready ? nameIndex.idsByName(lowerCase(fragment)) : null;
+    }
+
+    public List<Long> suggest(String prefix, int limit) {
+        return autocomplete.suggest(prefix, limit);
+    }
+
+    private Entry store(Long id, String name, String specialty) {
+        Entry entry = new Entry(lowerCase(name), lowerCase(specialty));
+        Entry previous = doctors.put(id, entry);
+        if (previous != null) {
+            nameIndex.remove(id, previous.name());
+        }
+        nameIndex.add(id, entry.name());
+        return previous;
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    record Entry(String name, String specialty) {
+    }
+}
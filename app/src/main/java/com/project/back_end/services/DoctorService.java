@@ -3,71 +3,304 @@ package com.project.back_end.services;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import com.project.back_end.DTO.AvailableSlot;
+import com.project.back_end.DTO.BookedSlot;
+import com.project.back_end.DTO.DoctorSlotLabel;
+import com.project.back_end.DTO.DoctorSummary;
 import com.project.back_end.DTO.Login;
-import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorDeletion;
+import com.project.back_end.models.TimeSlot;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorSpecifications;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 
 @Service
 public class DoctorService {
 
+    private static final int MAX_BATCH_DOCTORS = 200;
+
+    private static final int MAX_BATCH_DAYS = 31;
+
+    private static final int MAX_NEXT_SLOTS = 50;
+
+    private static final int NEXT_SLOT_WINDOW_DAYS = 7;
+
+    private static final int NEXT_SLOT_HORIZON_DAYS = 90;
+
+    private static final int MAX_FILTER_PAGE_SIZE = 200;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    // Beyond this an IN list costs more than the LIKE scan it replaces
+    private static final int MAX_INDEXED_NAME_MATCHES = 1000;
+
     private final DoctorRepository doctorRepository;
 
     private final AppointmentRepository appointmentRepository;
 
+    private final DoctorDeletionJob doctorDeletionJob;
+
     private final TokenService tokenService;
 
+    private final PrincipalCache principalCache;
+
+    private final SlotIndex slotIndex;
+
+    private final long nextSlotBudgetNanos;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DoctorDirectoryCache doctorDirectoryCache;
+
+    private final DoctorNames doctorNames;
+
     public DoctorService(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
-                         TokenService tokenService) {
+                         DoctorDeletionJob doctorDeletionJob, TokenService tokenService, PrincipalCache principalCache, SlotIndex slotIndex,
+                         @Value("${doctor.next-slot.budget-ms:200}") long nextSlotBudgetMillis,
+                         EntityManagerFactory entityManagerFactory, DoctorDirectoryCache doctorDirectoryCache,
+                         DoctorNames doctorNames) {
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
+        this.doctorDeletionJob = doctorDeletionJob;
         this.tokenService = tokenService;
+        this.principalCache = principalCache;
+        this.slotIndex = slotIndex;
+        this.nextSlotBudgetNanos = TimeUnit.MILLISECONDS.toNanos(nextSlotBudgetMillis);
+        this.entityManagerFactory = entityManagerFactory;
+        this.doctorDirectoryCache = doctorDirectoryCache;
+        this.doctorNames = doctorNames;
     }
 
 
-    @Transactional
     public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
-        Optional<Doctor> doctor = doctorRepository.findById(doctorId);
-        if (doctor.isEmpty()) {
+        List<String> availableSlots = slotIndex.availableSlots(doctorId, date);
+        if (availableSlots == null) {
             return List.of("Doctor not found with ID: " + doctorId);
         }
-        List<String> availableSlots = doctor.get().getAvailableTimes().stream()
-                .map(Object::toString)
-                .collect(Collectors.toList());
+        return availableSlots;
+    }
 
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId,
-                startOfDay, endOfDay);
+    @Transactional
+    // A specialty can hold any number of doctors, so that path is paged by id with the same cap as doctorIds.
+    // Both from and to are inclusive days
+    public ResponseEntity<Map<String, Object>> getDoctorsAvailability(List<Long> doctorIds, String specialty,
+                                                                      long after, LocalDate from, LocalDate to) {
+        Map<String, Object> map = new HashMap<>();
+        boolean byIds = doctorIds != null && !doctorIds.isEmpty();
+        if (!byIds && (specialty == null || specialty.isBlank())) {
+            map.put("error", "Either doctorIds or specialty is required");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        if (byIds && doctorIds.size() > MAX_BATCH_DOCTORS) {
+            map.put("error", "At most " + MAX_BATCH_DOCTORS + " doctors per request");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_BATCH_DAYS) {
+            map.put("error", "Date range must span 1 to " + MAX_BATCH_DAYS + " days");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
 
-        Set<String> bookedSlots = appointments.stream()
-                .map(appt -> {
-                    LocalDateTime start = appt.getAppointmentTime();
-                    LocalDateTime end = start.plusHours(1);
-                    return formatSlot(start, end);
-                })
-                .collect(Collectors.toSet());
-        return availableSlots.stream()
-                .filter(slot -> !bookedSlots.contains(slot))
-                .collect(Collectors.toList());
+        List<Doctor> doctors;
+        Long nextCursor = null;
+        if (byIds) {
+            doctors = doctorRepository.findWithAvailableTimesByIdIn(doctorIds);
+        } else {
+            // One row past the cap tells whether another page follows
+            List<Doctor> remaining = doctorRepository.findBySpecialtyAndIdGreaterThan(specialty, after,
+                    PageRequest.of(0, MAX_BATCH_DOCTORS + 1));
+            doctors = remaining.size() > MAX_BATCH_DOCTORS ? remaining.subList(0, MAX_BATCH_DOCTORS) : remaining;
+            nextCursor = remaining.size() > MAX_BATCH_DOCTORS ? doctors.get(doctors.size() - 1).getId() : null;
+        }
+        map.put("nextCursor", nextCursor);
+        Map<Long, Map<String, List<String>>> availability = new LinkedHashMap<>();
+        if (doctors.isEmpty()) {
+            map.put("availability", availability);
+            return ResponseEntity.status(HttpStatus.OK).body(map);
+        }
+
+        List<Long> ids = doctors.stream().map(Doctor::getId).toList();
+        Map<Long, Set<LocalDateTime>> booked = bookedTimes(ids, from, to);
+
+        for (Doctor doctor : doctors) {
+            Set<LocalDateTime> taken = booked.getOrDefault(doctor.getId(), Set.of());
+            Map<String, List<String>> days = new LinkedHashMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                LocalDateTime startOfDay = date.atStartOfDay();
+                List<String> free = new ArrayList<>();
+                for (TimeSlot slot : doctor.getAvailableTimes()) {
+                    if (!taken.contains(startOfDay.plusMinutes(slot.getStartMinute()))) {
+                        free.add(slot.toString());
+                    }
+                }
+                days.put(date.toString(), free);
+            }
+            availability.put(doctor.getId(), days);
+        }
+        map.put("availability", availability);
+        return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
-    private String formatSlot(LocalDateTime start, LocalDateTime end) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-        return start.format(formatter) + "-" + end.format(formatter);
+    @Transactional
+    public ResponseEntity<Map<String, Object>> findNextAvailableSlots(String specialty, int count) {
+        Map<String, Object> map = new HashMap<>();
+        if (count < 1 || count > MAX_NEXT_SLOTS) {
+            map.put("error", "count must be between 1 and " + MAX_NEXT_SLOTS);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        long deadline = System.nanoTime() + nextSlotBudgetNanos;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate horizon = now.toLocalDate().plusDays(NEXT_SLOT_HORIZON_DAYS - 1);
+
+        List<SlotCursor> cursors = new ArrayList<>();
+        for (Doctor doctor : doctorRepository.findBySpecialty(specialty)) {
+            SlotCursor cursor = SlotCursor.of(doctor);
+            if (cursor != null) {
+                cursors.add(cursor);
+            }
+        }
+        List<Long> ids = cursors.stream().map(cursor -> cursor.doctor.getId()).toList();
+
+        List<AvailableSlot> found = new ArrayList<>();
+        boolean complete = true;
+        for (LocalDate windowStart = now.toLocalDate();
+             found.size() < count && !cursors.isEmpty() && !windowStart.isAfter(horizon);
+             windowStart = windowStart.plusDays(NEXT_SLOT_WINDOW_DAYS)) {
+            if (System.nanoTime() > deadline) {
+                complete = false;
+                break;
+            }
+            LocalDate windowEnd = windowStart.plusDays(NEXT_SLOT_WINDOW_DAYS - 1);
+            if (windowEnd.isAfter(horizon)) {
+                windowEnd = horizon;
+            }
+            Map<Long, Set<LocalDateTime>> booked = bookedTimes(ids, windowStart, windowEnd);
+
+            PriorityQueue<SlotCursor> queue = new PriorityQueue<>(
+                    Comparator.comparing(SlotCursor::current).thenComparing(cursor -> cursor.doctor.getId()));
+            for (SlotCursor cursor : cursors) {
+                cursor.reset(windowStart);
+                if (cursor.advance(windowEnd, booked.getOrDefault(cursor.doctor.getId(), Set.of()), now)) {
+                    queue.add(cursor);
+                }
+            }
+            while (found.size() < count && !queue.isEmpty()) {
+                SlotCursor cursor = queue.poll();
+                found.add(new AvailableSlot(cursor.doctor.getId(), cursor.doctor.getName(), cursor.current(),
+                        cursor.label()));
+                cursor.step();
+                if (cursor.advance(windowEnd, booked.getOrDefault(cursor.doctor.getId(), Set.of()), now)) {
+                    queue.add(cursor);
+                }
+            }
+        }
+        map.put("slots", found);
+        map.put("complete", complete);
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
+    private Map<Long, Set<LocalDateTime>> bookedTimes(List<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<Long, Set<LocalDateTime>> booked = new HashMap<>();
+        for (BookedSlot slot : appointmentRepository.findBookedSlotsByDoctorIdInAndAppointmentTimeBetween(doctorIds,
+                from.atStartOfDay(), to.atTime(LocalTime.MAX))) {
+            booked.computeIfAbsent(slot.getDoctorId(), id -> new HashSet<>())
+                    .add(slot.getAppointmentTime().truncatedTo(ChronoUnit.MINUTES));
+        }
+        return booked;
+    }
+
+    // Walks one doctor's calendar in time order: day by day, slots sorted by start minute
+    private static final class SlotCursor {
+        private final Doctor doctor;
+        private final int[] startMinutes;
+        private final String[] labels;
+        private LocalDate date;
+        private int position;
+
+        private SlotCursor(Doctor doctor, int[] startMinutes, String[] labels) {
+            this.doctor = doctor;
+            this.startMinutes = startMinutes;
+            this.labels = labels;
+        }
+
+        static SlotCursor of(Doctor doctor) {
+            List<TimeSlot> slots = new ArrayList<>();
+            for (TimeSlot slot : doctor.getAvailableTimes()) {
+                try {
+                    slot.getStartMinute();
+                    slots.add(slot);
+                } catch (RuntimeException e) {
+                    System.err.println("Skipping invalid slot for doctor " + doctor.getId() + ": " + slot);
+                }
+            }
+            if (slots.isEmpty()) {
+                return null;
+            }
+            slots.sort(Comparator.comparingInt(TimeSlot::getStartMinute));
+            int[] startMinutes = new int[slots.size()];
+            String[] labels = new String[slots.size()];
+            for (int i = 0; i < slots.size(); i++) {
+                startMinutes[i] = slots.get(i).getStartMinute();
+                labels[i] = slots.get(i).toString();
+            }
+            return new SlotCursor(doctor, startMinutes, labels);
+        }
+
+        void reset(LocalDate windowStart) {
+            date = windowStart;
+            position = 0;
+        }
+
+        LocalDateTime current() {
+            return date.atStartOfDay().plusMinutes(startMinutes[position]);
+        }
+
+        String label() {
+            return labels[position];
+        }
+
+        void step() {
+            position++;
+        }
+
+        boolean advance(LocalDate windowEnd, Set<LocalDateTime> taken, LocalDateTime notBefore) {
+            while (!date.isAfter(windowEnd)) {
+                while (position < startMinutes.length) {
+                    LocalDateTime candidate = current();
+                    if (!candidate.isBefore(notBefore) && !taken.contains(candidate)) {
+                        return true;
+                    }
+                    position++;
+                }
+                date = date.plusDays(1);
+                position = 0;
+            }
+            return false;
+        }
     }
 
     public int saveDoctor(Doctor doctor) {
@@ -77,6 +310,8 @@ public class DoctorService {
         }
         try {
             doctorRepository.save(doctor);
+            doctorNames.put(doctor.getId(), doctor.getName(), doctor.getSpecialty());
+            evictFromCache(null);
             return 1;
         } catch (Exception e) {
             System.err.println("Error saving doctor: " + e.getMessage());
@@ -87,11 +322,16 @@ public class DoctorService {
 
     public int updateDoctor(Doctor doctor) {
         Optional<Doctor> result = doctorRepository.findById(doctor.getId());
-        if (!result.isPresent()) {
+        if (!result.isPresent() || result.get().isDeleting()) {
             return -1;
         }
         try {
             doctorRepository.save(doctor);
+            doctorNames.put(doctor.getId(), doctor.getName(), doctor.getSpecialty());
+            evictFromCache(doctor.getId());
+            principalCache.invalidate("doctor", result.get().getEmail());
+            principalCache.invalidate("doctor", doctor.getEmail());
+            slotIndex.evictDoctor(doctor.getId());
             return 1;
         } catch (Exception e) {
             System.err.println("Error saving doctor: " + e.getMessage());
@@ -99,11 +339,27 @@ public class DoctorService {
         }
     }
 
-    @Transactional
-    public List<Doctor> getDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        doctors.forEach(doc -> doc.getAvailableTimes().size());
-        return doctors;
+    public Map<String, Object> getDoctors(long afterId, int size) {
+        Map<String, Object> map = new HashMap<>();
+        int pageSize = Math.max(1, Math.min(size, MAX_FILTER_PAGE_SIZE));
+        List<DoctorSummary> doctors = doctorRepository.findSummariesByIdGreaterThan(afterId,
+                PageRequest.of(0, pageSize));
+        if (!doctors.isEmpty()) {
+            Map<Long, DoctorSummary> byId = new HashMap<>();
+            doctors.forEach(doctor -> byId.put(doctor.getId(), doctor));
+            for (DoctorSlotLabel slot : doctorRepository.findSlotLabelsByDoctorIdIn(byId.keySet())) {
+                byId.get(slot.getDoctorId()).getAvailableTimes().add(slot.getLabel());
+            }
+        }
+        map.put("doctors", doctors);
+        map.put("nextCursor", doctors.size() == pageSize ? doctors.get(doctors.size() - 1).getId() : null);
+        return map;
+    }
+
+    public Map<String, Object> suggestDoctors(String prefix, int limit) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("ids", doctorNames.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))));
+        return map;
     }
 
     public int deleteDoctor(long id) {
@@ -113,8 +369,11 @@ public class DoctorService {
             return -1;
         }
         try {
-            appointmentRepository.deleteAllByDoctorId(doctor.get().getId());
-            doctorRepository.delete(doctor.get());
+            doctorDeletionJob.start(id);
+            doctorNames.remove(id);
+            evictFromCache(id);
+            principalCache.invalidate("doctor", doctor.get().getEmail());
+            slotIndex.evictDoctor(id);
             return 1;
         } catch (Exception e) {
             System.err.println("Error saving doctor: " + e.getMessage());
@@ -122,12 +381,37 @@ public class DoctorService {
         }
     }
 
+    // Hibernate already invalidates on its own writes; this also covers rows changed by bulk updates,
+    // keeps the specialty query cache from serving a stale id list and retires cached filter results.
+    // Callers update the name index first and the directory advances last, so a filter result loaded
+    // before the version moves cannot be cached from the old index or the old entity data
+    private void evictFromCache(Long id) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        if (id != null) {
+            cache.evictEntityData(Doctor.class, id);
+            cache.evictCollectionData(Doctor.class.getName() + ".availableTimes", id);
+        }
+        cache.evictQueryRegion(Doctor.SPECIALTY_QUERY_CACHE_REGION);
+        doctorDirectoryCache.advance();
+    }
+
+    public ResponseEntity<Map<String, Object>> getDeletionProgress(long id) {
+        Map<String, Object> map = new HashMap<>();
+        DoctorDeletion deletion = doctorDeletionJob.progress(id);
+        if (deletion == null) {
+            map.put("message", "No deletion found for doctor with ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(map);
+        }
+        map.put("deletion", deletion);
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
     public ResponseEntity<Map<String, String>> validateDoctor(Login login) {
         Map<String, String> map = new HashMap<>();
         try {
 
             Doctor doctor = doctorRepository.findByEmail(login.getEmail());
-            if (doctor != null) {
+            if (doctor != null && !doctor.isDeleting()) {
                 if (doctor.getPassword().equals(login.getPassword())) {
                     map.put("token", tokenService.generateToken(doctor.getEmail()));
                     return ResponseEntity.status(HttpStatus.OK).body(map);
@@ -146,88 +430,36 @@ public class DoctorService {
         }
     }
 
-    @Transactional
-    public Map<String, Object> findDoctorByName(String name) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findByNameLike(name);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
+    public Map<String, Object> filterDoctors(String name, String specialty, String amOrPm, int page, int size) {
         Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findByNameLike(name);
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndSpecility(String name, String specilty) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specilty);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByTimeAndSpecility(String specilty, String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorBySpecility(String specilty) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
+        Boolean morning = amOrPm == null ? null : amOrPm.equalsIgnoreCase("am");
+        int pageSize = Math.max(1, Math.min(size, MAX_FILTER_PAGE_SIZE));
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id"));
+        List<Long> ids = name == null ? null : doctorNames.idsByName(name);
+        if (ids != null && ids.size() > MAX_INDEXED_NAME_MATCHES) {
+            ids = null;
+        }
+        Page<Doctor> result = ids != null && ids.isEmpty()
+                ? new PageImpl<>(List.of(), pageRequest, 0)
+                : doctorRepository.findAll(DoctorSpecifications.filter(name, ids, specialty, morning), pageRequest);
+        map.put("doctors", withAvailableTimes(result.getContent()));
+        map.put("page", result.getNumber());
+        map.put("size", result.getSize());
+        map.put("totalElements", result.getTotalElements());
+        map.put("totalPages", result.getTotalPages());
         return map;
     }
 
-    @Transactional
-    public Map<String, Object> filterDoctorsByTime(String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findAll();
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
+    // Collection fetch joins cannot be combined with LIMIT in SQL, so the page is selected first
+    // and its slots are loaded with a single IN query
+    private List<Doctor> withAvailableTimes(List<Doctor> page) {
+        if (page.isEmpty()) {
+            return page;
+        }
+        Map<Long, Doctor> loaded = new HashMap<>();
+        for (Doctor doctor : doctorRepository.findWithAvailableTimesByIdIn(page.stream().map(Doctor::getId).toList())) {
+            loaded.put(doctor.getId(), doctor);
+        }
+        return page.stream().map(doctor -> loaded.get(doctor.getId())).toList();
     }
-
-
-    public  List<Doctor> filterDoctorByTime(List<Doctor> doctors,String amOrPm)
-    {
-        return doctors.stream()
-                .filter(doctor -> {
-                    if (amOrPm == null || amOrPm.isBlank())
-                        return true;
-
-                    boolean isAM = amOrPm.equalsIgnoreCase("am");
-                    return doctor.getAvailableTimes().stream().anyMatch(slot -> {
-                        try {
-                            String startHourStr = slot.split("-")[0].split(":")[0];
-                            int hour = Integer.parseInt(startHourStr);
-                            return isAM ? hour < 12 : hour >= 12;
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    });
-                })
-                .collect(Collectors.toList());
-    }
-}
\ No newline at end of file
+}
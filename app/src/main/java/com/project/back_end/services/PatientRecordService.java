@@ -0,0 +1,151 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.PatientDetails;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.PrescriptionRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds a patient's record (details, a page of appointments and their prescriptions) on a bounded pool.
+ * The two MySQL reads run concurrently and the prescriptions follow the appointment page. Each source has
+ * its own timeout; a source that is slow or failing is reported under "degraded" instead of failing the record.
+ */
+@Service
+public class PatientRecordService {
+
+    private final PatientRepository patientRepository;
+    private final PatientService patientService;
+    private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionCache prescriptionCache;
+    private final ThreadPoolExecutor executor;
+    private final long mysqlTimeoutMillis;
+    private final long mongoTimeoutMillis;
+
+    public PatientRecordService(PatientRepository patientRepository, PatientService patientService,
+                                PrescriptionRepository prescriptionRepository, PrescriptionCache prescriptionCache,
+                                @Value("${patient-record.threads:16}") int threads,
+                                @Value("${patient-record.queue-size:256}") int queueSize,
+                                @Value("${patient-record.timeout.mysql-ms:2000}") long mysqlTimeoutMillis,
+                                @Value("${patient-record.timeout.mongo-ms:500}") long mongoTimeoutMillis) {
+        this.patientRepository = patientRepository;
+        this.patientService = patientService;
+        this.prescriptionRepository = prescriptionRepository;
+        this.prescriptionCache = prescriptionCache;
+        this.mysqlTimeoutMillis = mysqlTimeoutMillis;
+        this.mongoTimeoutMillis = mongoTimeoutMillis;
+        AtomicInteger count = new AtomicInteger();
+        // A full queue rejects the task, which the caller sees as that source being degraded
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "patient-record-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> getPatientRecord(Long patientId, String cursor, int size) {
+        Map<String, Object> map = new HashMap<>();
+        List<String> degraded = new ArrayList<>();
+
+        CompletableFuture<PatientDetails> patient = supply(() -> patientRepository.findById(patientId)
+                .map(PatientDetails::of).orElse(null))
+                .orTimeout(mysqlTimeoutMillis, TimeUnit.MILLISECONDS);
+        CompletableFuture<ResponseEntity<Map<String, Object>>> appointments =
+                supply(() -> patientService.getPatientAppointment(patientId, cursor, size))
+                        .orTimeout(mysqlTimeoutMillis, TimeUnit.MILLISECONDS);
+        // Prescriptions only carry their appointment id, not the patient's, so the Mongo read cannot start
+        // until the page is known; it goes through the prescription cache, so repeat views skip Mongo entirely
+        CompletableFuture<List<Prescription>> prescriptions = appointments.thenCompose(page -> {
+            Object body = page.getBody() == null ? null : page.getBody().get("appointments");
+            if (!page.getStatusCode().is2xxSuccessful() || body == null || ((List<?>) body).isEmpty()) {
+                return CompletableFuture.completedFuture(List.of());
+            }
+            List<Long> ids = ((List<AppointmentDTO>) body).stream().map(AppointmentDTO::getId).toList();
+            return supply(() -> prescriptionCache.getAll(ids, prescriptionRepository::findByAppointmentIdIn))
+                    .orTimeout(mongoTimeoutMillis, TimeUnit.MILLISECONDS);
+        });
+
+        PatientDetails found;
+        try {
+            found = patient.get();
+        } catch (Exception e) {
+            System.out.println("Error: " + failure(e));
+            map.put("error", "Patient details are unavailable");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(map);
+        }
+        if (found == null) {
+            map.put("error", "Patient not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(map);
+        }
+        map.put("patient", found);
+
+        try {
+            ResponseEntity<Map<String, Object>> page = appointments.get();
+            if (!page.getStatusCode().is2xxSuccessful()) {
+                return page;
+            }
+            map.putAll(page.getBody());
+        } catch (Exception e) {
+            System.out.println("Error: " + failure(e));
+            map.put("appointments", List.of());
+            degraded.add("appointments");
+        }
+
+        try {
+            map.put("prescriptions", prescriptions.get());
+        } catch (Exception e) {
+            System.out.println("Error: " + failure(e));
+            map.put("prescriptions", List.of());
+            if (!degraded.contains("appointments")) {
+                degraded.add("prescriptions");
+            }
+        }
+
+        map.put("degraded", degraded);
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable failure(Exception e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -1,37 +1,46 @@
 package com.project.back_end.services;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.project.back_end.DTO.AppointmentDTO;
-import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
 import com.project.back_end.repo.PatientRepository;
-import jakarta.transaction.Transactional;
 
 @Service
 public class PatientService {
 
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
-    private final TokenService tokenService;
+    private final PrincipalCache principalCache;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final AppointmentArchive appointmentArchive;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
 
     public PatientService(PatientRepository patientRepository, AppointmentRepository appointmentRepository,
-                          TokenService tokenService) {
+                          PrincipalCache principalCache, ArchivedAppointmentRepository archivedAppointmentRepository,
+                          AppointmentArchive appointmentArchive) {
         this.patientRepository = patientRepository;
         this.appointmentRepository = appointmentRepository;
-        this.tokenService = tokenService;
+        this.principalCache = principalCache;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.appointmentArchive = appointmentArchive;
     }
     public int createPatient(Patient patient) {
         try {
             patientRepository.save(patient);
+            principalCache.invalidate("patient", patient.getEmail());
             return 1;
         } catch (Exception e) {
             System.out.println("Error: " + e);
@@ -39,27 +48,18 @@ public class PatientService {
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token) {
+    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String cursor, int size) {
         Map<String, Object> map = new HashMap<>();
+        AppointmentCursor after = AppointmentCursor.decode(cursor);
+        if (after == null) {
+            map.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
         try {
-            List<Appointment> appointments = appointmentRepository.findByPatientId(id);
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                    .map(app -> new AppointmentDTO(
-                            app.getId(),
-                            app.getDoctor().getId(), // Only doctor ID
-                            app.getDoctor().getName(),
-                            app.getPatient().getId(),
-                            app.getPatient().getName(),
-                            app.getPatient().getEmail(),
-                            app.getPatient().getPhone(),
-                            app.getPatient().getAddress(),
-                            app.getAppointmentTime(),
-                            app.getStatus()))
-                    .collect(Collectors.toList());
-
-            map.put("appointments", appointmentDTOs);
-            return ResponseEntity.status(HttpStatus.OK).body(map);
+            List<AppointmentDTO> appointments = appointmentRepository.findDtoByPatientIdAfter(id,
+                    after.appointmentTime(), after.id(), pageRequest(size));
+            return page(withArchive(appointments, after, size, () -> archivedAppointmentRepository
+                    .findDtoByPatientIdAfter(id, after.appointmentTime(), after.id(), pageRequest(size))), size);
         } catch (Exception e) {
             System.out.println("Error: " + e);
             map.put("error", "Internal Server Error");
@@ -67,107 +67,96 @@ public class PatientService {
         }
     }
 
-    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id) {
+    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id, String cursor,
+                                                                 int size) {
         Map<String, Object> map = new HashMap<>();
-        List<Appointment> appointments;
-        if (condition.equals("past")) {
-            appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, 1);
-
-        } else if (condition.equals("future")) {
-            appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, 0);
-
-        } else {
-            map.put("error", "Invalid filter");
+        AppointmentCursor after = AppointmentCursor.decode(cursor);
+        if (!isValidCondition(condition) || after == null) {
+            map.put("error", after == null ? "Invalid cursor" : "Invalid filter");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
-
         }
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(),
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-        map.put("appointments", appointmentDTOs);
-        return ResponseEntity.status(HttpStatus.OK).body(map);
+        LocalDateTime now = LocalDateTime.now();
+        if (condition.equals("past")) {
+            List<AppointmentDTO> appointments = appointmentRepository.findDtoByPatientIdBefore(id, now,
+                    after.appointmentTime(), after.id(), pageRequest(size));
+            return page(withArchive(appointments, after, size, () -> archivedAppointmentRepository
+                    .findDtoByPatientIdAfter(id, after.appointmentTime(), after.id(), pageRequest(size))), size);
+        }
+        AppointmentCursor from = after.notBefore(now);
+        return page(appointmentRepository.findDtoByPatientIdAfter(id, from.appointmentTime(), from.id(),
+                pageRequest(size)), size);
     }
 
-    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId) {
+    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId, String cursor,
+                                                              int size) {
         Map<String, Object> map = new HashMap<>();
-
-        System.out.println("Startingur query");
-        List<Appointment> appointments = appointmentRepository.filterByDoctorNameAndPatientId(name,
-                patientId);
-        System.out.println(name);
-        System.out.println(patientId);
-        System.out.println("HI");
-        System.out.println(appointments.size());
-        for (Appointment appointment : appointments) {
-            System.out.println("" + appointment.getDoctor().getName());
+        AppointmentCursor after = AppointmentCursor.decode(cursor);
+        if (after == null) {
+            map.put("error", "Invalid cursor");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
         }
-
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(), // Only doctor ID
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
-        return ResponseEntity.status(HttpStatus.OK).body(map);
+        List<AppointmentDTO> appointments = appointmentRepository.findDtoByDoctorNameAndPatientIdAfter(name,
+                patientId, after.appointmentTime(), after.id(), pageRequest(size));
+        return page(withArchive(appointments, after, size, () -> archivedAppointmentRepository
+                .findDtoByDoctorNameAndPatientIdAfter(name, patientId, after.appointmentTime(), after.id(),
+                        pageRequest(size))), size);
     }
 
     public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name,
-                                                                          long patientId) {
+                                                                          long patientId, String cursor, int size) {
         Map<String, Object> map = new HashMap<>();
-        List<Appointment> appointments;
+        AppointmentCursor after = AppointmentCursor.decode(cursor);
+        if (!isValidCondition(condition) || after == null) {
+            map.put("error", after == null ? "Invalid cursor" : "Invalid filter");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        LocalDateTime now = LocalDateTime.now();
         if (condition.equals("past")) {
-            appointments = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(name, patientId, 1);
+            List<AppointmentDTO> appointments = appointmentRepository.findDtoByDoctorNameAndPatientIdBefore(name,
+                    patientId, now, after.appointmentTime(), after.id(), pageRequest(size));
+            return page(withArchive(appointments, after, size, () -> archivedAppointmentRepository
+                    .findDtoByDoctorNameAndPatientIdAfter(name, patientId, after.appointmentTime(), after.id(),
+                            pageRequest(size))), size);
+        }
+        AppointmentCursor from = after.notBefore(now);
+        return page(appointmentRepository.findDtoByDoctorNameAndPatientIdAfter(name, patientId,
+                from.appointmentTime(), from.id(), pageRequest(size)), size);
+    }
+
+    // past and future are split on appointmentTime, so both stay range scans on idx_appointment_patient_time
+    private static boolean isValidCondition(String condition) {
+        return condition.equals("past") || condition.equals("future");
+    }
 
-        } else if (condition.equals("future")) {
-            appointments = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(name, patientId, 0);
+    // Only pages whose cursor is at or before the newest archived appointment can draw from the archive
+    private List<AppointmentDTO> withArchive(List<AppointmentDTO> appointments, AppointmentCursor after, int size,
+                                             Supplier<List<AppointmentDTO>> archived) {
+        if (!appointmentArchive.reachesArchive(after.appointmentTime())) {
+            return appointments;
+        }
+        return AppointmentArchive.merge(appointments, archived.get(), pageRequest(size).getPageSize());
+    }
 
-        } else {
-            map.put("error", "Invalid filter");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+    private static PageRequest pageRequest(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE)));
+    }
 
+    private static ResponseEntity<Map<String, Object>> page(List<AppointmentDTO> appointments, int size) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("appointments", appointments);
+        String nextCursor = null;
+        if (appointments.size() == pageRequest(size).getPageSize()) {
+            AppointmentDTO last = appointments.get(appointments.size() - 1);
+            nextCursor = new AppointmentCursor(last.getAppointmentTime(), last.getId()).encode();
         }
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(),
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
+        map.put("nextCursor", nextCursor);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
-    public ResponseEntity<Map<String,Object>> getPatientDetails(String token)
+    public ResponseEntity<Map<String,Object>> getPatientDetails(Long patientId)
     {
         Map<String, Object> map = new HashMap<>();
-        String email=tokenService.extractEmail(token);
-        Patient patient=patientRepository.findByEmail(email);
+        Patient patient=patientRepository.findById(patientId).orElse(null);
         map.put("patient",patient);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
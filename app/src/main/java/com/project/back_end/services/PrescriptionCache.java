@@ -0,0 +1,88 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.Prescription;
+
+/**
+ * LRU cache of prescriptions by appointmentId. A saved prescription is never overwritten, so hits are
+ * kept until evicted; "no prescription yet" is cached only briefly because a doctor may add one.
+ */
+@Component
+public class PrescriptionCache {
+
+    private final ReadThroughLru<Long, Entry> entries;
+    private final long negativeTtlMillis;
+
+    public PrescriptionCache(@Value("${prescriptions.cache.max-size:10000}") int maxSize,
+                             @Value("${prescriptions.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.negativeTtlMillis = negativeTtlSeconds * 1000L;
+        this.entries = new ReadThroughLru<>(maxSize, entry -> 1, Entry::fresh, Entry::replaceableBy);
+    }
+
+    // A put() that lands while Mongo is being read wins over the older read
+    public List<Prescription> get(Long appointmentId, Function<Long, List<Prescription>> loader) {
+        return entries.get(appointmentId, id -> entry(loader.apply(id))).prescriptions();
+    }
+
+    // Cached appointments are served from memory and the rest are read in one batch; an appointment the
+    // batch has nothing for is cached as "no prescription yet"
+    public List<Prescription> getAll(Collection<Long> appointmentIds,
+                                     Function<Collection<Long>, List<Prescription>> loader) {
+        List<Prescription> result = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : appointmentIds) {
+            Entry cached = entries.getIfFresh(id);
+            if (cached == null) {
+                missing.add(id);
+            } else {
+                result.addAll(cached.prescriptions());
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long loadedGeneration = entries.generation();
+        Map<Long, List<Prescription>> loaded = loader.apply(missing).stream()
+                .collect(Collectors.groupingBy(Prescription::getAppointmentId));
+        for (Long id : missing) {
+            result.addAll(entries.offer(id, entry(loaded.getOrDefault(id, List.of())), loadedGeneration)
+                    .prescriptions());
+        }
+        return result;
+    }
+
+    public void put(Prescription prescription) {
+        entries.put(prescription.getAppointmentId(), new Entry(List.of(prescription), Long.MAX_VALUE));
+    }
+
+    public Map<String, Long> stats() {
+        return entries.stats();
+    }
+
+    private Entry entry(List<Prescription> loaded) {
+        List<Prescription> prescriptions = List.copyOf(loaded);
+        long expiresAt = prescriptions.isEmpty() ? System.currentTimeMillis() + negativeTtlMillis : Long.MAX_VALUE;
+        return new Entry(prescriptions, expiresAt);
+    }
+
+    private record Entry(List<Prescription> prescriptions, long expiresAt) {
+
+        boolean fresh() {
+            return expiresAt > System.currentTimeMillis();
+        }
+
+        // Only a "no prescription yet" entry may be replaced, once it expires or a load has found one
+        boolean replaceableBy(Entry loaded) {
+            return prescriptions.isEmpty() && (!fresh() || !loaded.prescriptions().isEmpty());
+        }
+    }
+}
@@ -4,36 +4,51 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.project.back_end.config.PrescriptionIndexes;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.repo.PrescriptionRepository;
 
 @Service
 public class PrescriptionService {
+    private static final int MAX_BATCH_APPOINTMENTS = 200;
+
     private final PrescriptionRepository prescriptionRepository;
+    private final PrescriptionCache prescriptionCache;
+    private final PrescriptionIndexes prescriptionIndexes;
 
-    public PrescriptionService(PrescriptionRepository prescriptionRepository)
+    public PrescriptionService(PrescriptionRepository prescriptionRepository, PrescriptionCache prescriptionCache,
+                               PrescriptionIndexes prescriptionIndexes)
     {
         this.prescriptionRepository=prescriptionRepository;
+        this.prescriptionCache=prescriptionCache;
+        this.prescriptionIndexes=prescriptionIndexes;
     }
 
     public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription)
     {
         Map<String, String> map=new HashMap<>();
         try{
-            List<Prescription> result=prescriptionRepository.findByAppointmentId(prescription.getAppointmentId());
-            if(result.isEmpty())
+            // Without the unique index a second insert would succeed, so look for an existing one first
+            if(!prescriptionIndexes.isUniqueIndexReady()
+                    && !prescriptionRepository.findByAppointmentId(prescription.getAppointmentId()).isEmpty())
             {
-                prescriptionRepository.save(prescription);
-                map.put("message","Prescription saved");
-                return ResponseEntity.status(HttpStatus.CREATED).body(map);
+                map.put("message", "Prescription already exists.");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
             }
+            // A plain insert: the unique appointmentId index turns a second prescription into a duplicate key
+            prescriptionCache.put(prescriptionRepository.insert(prescription));
+            map.put("message","Prescription saved");
+            return ResponseEntity.status(HttpStatus.CREATED).body(map);
+        }
+        catch(DuplicateKeyException e)
+        {
             map.put("message", "Prescription already exists.");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
-
         }
         catch(Exception e)
         {
@@ -46,7 +61,7 @@ public class PrescriptionService {
     {
         Map<String, Object> map=new HashMap<>();
         try{
-            map.put("prescription",prescriptionRepository.findByAppointmentId(appointmentId));
+            map.put("prescription",prescriptionCache.get(appointmentId,prescriptionRepository::findByAppointmentId));
             return ResponseEntity.status(HttpStatus.OK).body(map);
         }
         catch(Exception e)
@@ -56,4 +71,29 @@ public class PrescriptionService {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
         }
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Map<String, Object>> getPrescriptions(List<Long> appointmentIds)
+    {
+        Map<String, Object> map=new HashMap<>();
+        if(appointmentIds==null || appointmentIds.isEmpty() || appointmentIds.size()>MAX_BATCH_APPOINTMENTS)
+        {
+            map.put("error","Between 1 and "+MAX_BATCH_APPOINTMENTS+" appointmentIds are required");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        try{
+            map.put("prescriptions",prescriptionRepository.findSummariesByAppointmentIdIn(appointmentIds));
+            return ResponseEntity.status(HttpStatus.OK).body(map);
+        }
+        catch(Exception e)
+        {
+            System.out.println("Error: "+e);
+            map.put("error","Internal Server Error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+        }
+    }
+
+    public Map<String, Long> getCacheStats()
+    {
+        return prescriptionCache.stats();
+    }
+}
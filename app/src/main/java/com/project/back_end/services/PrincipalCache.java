@@ -0,0 +1,58 @@
+package com.project.back_end.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public PrincipalCache(@Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${auth.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxSize = maxSize;
+    }
+
+    public Long get(String role, String subject) {
+        String key = key(role, subject);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.id();
+    }
+
+    public void put(String role, String subject, Long id) {
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(key(role, subject), new Entry(id, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void invalidate(String role, String subject) {
+        if (subject != null) {
+            entries.remove(key(role, subject));
+        }
+    }
+
+    private static String key(String role, String subject) {
+        return role + ":" + subject;
+    }
+
+    private record Entry(Long id, long expiresAt) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.back_end.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least-recently-used map bounded by a total weight, shared by the in-process read caches. Loads happen
+ * outside the lock, so a value loaded across clear() is returned to its caller but never stored.
+ */
+class ReadThroughLru<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final Predicate<V> fresh;
+    private final BiPredicate<V, V> replaceable;
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // fresh decides whether a stored value may still be served; replaceable(current, loaded) whether a
+    // load may overwrite a value that was stored while it ran
+    ReadThroughLru(long maxWeight, ToLongFunction<V> weigher, Predicate<V> fresh, BiPredicate<V, V> replaceable) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.fresh = fresh;
+        this.replaceable = replaceable;
+    }
+
+    V get(K key, Function<K, V> loader) {
+        long loadedGeneration;
+        synchronized (this) {
+            V cached = getIfFresh(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadedGeneration = generation;
+        }
+        return offer(key, loader.apply(key), loadedGeneration);
+    }
+
+    // Counts a hit or a miss; callers loading several keys at once pair this with generation() and offer()
+    synchronized V getIfFresh(K key) {
+        V cached = entries.get(key);
+        if (cached != null && fresh.test(cached)) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        return null;
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    // Stores a value loaded since loadedGeneration unless a clear() or a newer entry got there first;
+    // returns whichever value the caller should serve
+    synchronized V offer(K key, V loaded, long loadedGeneration) {
+        if (loadedGeneration != generation) {
+            return loaded;
+        }
+        V current = entries.get(key);
+        if (current != null && !replaceable.test(current, loaded)) {
+            return current;
+        }
+        store(key, loaded);
+        return loaded;
+    }
+
+    synchronized void put(K key, V value) {
+        store(key, value);
+    }
+
+    synchronized void clear() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized Map<String, Long> stats() {
+        return Map.of("size", (long) entries.size(), "hits", hits, "misses", misses, "evictions", evictions);
+    }
+
+    private void store(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            // Never cached, but the entry it replaces is stale now
+            V previous = entries.remove(key);
+            if (previous != null) {
+                weight -= weigher.applyAsLong(previous);
+            }
+            return;
+        }
+        V previous = entries.put(key, value);
+        weight += valueWeight - (previous == null ? 0 : weigher.applyAsLong(previous));
+        Iterator<V> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+
+/**
+ * Booked-slot bitmaps per (doctor, day), one bit per entry of the doctor's availableTimes.
+ * Days are loaded from the database on a miss and kept in sync by booking, update and cancel.
+ */
+@Component
+public class SlotIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final int maxDays;
+
+    private final Map<Long, DoctorSlots> doctors = new ConcurrentHashMap<>();
+    private final Map<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+
+    public SlotIndex(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
+                     @Value("${slots.index.max-days:50000}") int maxDays) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.maxDays = maxDays;
+    }
+
+    public List<String> availableSlots(Long doctorId, LocalDate date) {
+        DaySlots day = day(doctorId, date);
+        if (day == null) {
+            return null;
+        }
+        return day.available();
+    }
+
+    public int check(Long doctorId, LocalDate date, LocalTime time) {
+        DaySlots day = day(doctorId, date);
+        if (day == null) {
+            return -1;
+        }
+        return day.isFree(time.getHour() * 60 + time.getMinute()) ? 1 : 0;
+    }
+
+    public void book(Long doctorId, LocalDateTime time) {
+        days.computeIfPresent(new DayKey(doctorId, time.toLocalDate()), (key, day) -> {
+            day.set(minuteOfDay(time), true);
+            return day;
+        });
+    }
+
+    public void release(Long doctorId, LocalDateTime time) {
+        days.computeIfPresent(new DayKey(doctorId, time.toLocalDate()), (key, day) -> {
+            day.set(minuteOfDay(time), false);
+            return day;
+        });
+    }
+
+    public void evictDoctor(Long doctorId) {
+        doctors.remove(doctorId);
+        days.keySet().removeIf(key -> key.doctorId() == doctorId);
+    }
+
+    private DaySlots day(Long doctorId, LocalDate date) {
+        DayKey key = new DayKey(doctorId, date);
+        DaySlots day = days.get(key);
+        if (day != null) {
+            return day;
+        }
+        DoctorSlots slots = doctorSlots(doctorId);
+        if (slots == null) {
+            return null;
+        }
+        if (days.size() >= maxDays) {
+            days.clear();
+        }
+        return days.computeIfAbsent(key, k -> load(slots, doctorId, date));
+    }
+
+    private DoctorSlots doctorSlots(Long doctorId) {
+        DoctorSlots slots = doctors.get(doctorId);
+        if (slots != null) {
+            return slots;
+        }
+        Optional<Doctor> doctor = doctorRepository.findWithAvailableTimesById(doctorId);
+        if (doctor.isEmpty()) {
+            return null;
+        }
+        slots = DoctorSlots.of(doctor.get().getAvailableTimes());
+        doctors.put(doctorId, slots);
+        return slots;
+    }
+
+    private DaySlots load(DoctorSlots slots, Long doctorId, LocalDate date) {
+        DaySlots day = new DaySlots(slots);
+        List<LocalDateTime> booked = appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                doctorId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        for (LocalDateTime time : booked) {
+            day.set(minuteOfDay(time), true);
+        }
+        return day;
+    }
+
+    private static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record DayKey(long doctorId, LocalDate date) {
+    }
+
+    private static final class DoctorSlots {
+        private final String[] labels;
+        private final int[] startMinutes;
+
+        private DoctorSlots(String[] labels, int[] startMinutes) {
+            this.labels = labels;
+            this.startMinutes = startMinutes;
+        }
+
+        static DoctorSlots of(List<TimeSlot> availableTimes) {
+            int size = availableTimes == null ? 0 : availableTimes.size();
+            String[] labels = new String[size];
+            int[] startMinutes = new int[size];
+            for (int i = 0; i < size; i++) {
+                TimeSlot slot = availableTimes.get(i);
+                labels[i] = slot.toString();
+                try {
+                    startMinutes[i] = slot.getStartMinute();
+                } catch (RuntimeException e) {
+                    startMinutes[i] = -1;
+                }
+            }
+            return new DoctorSlots(labels, startMinutes);
+        }
+
+        int indexOf(int minuteOfDay) {
+            for (int i = 0; i < startMinutes.length; i++) {
+                if (startMinutes[i] == minuteOfDay) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class DaySlots {
+        private final DoctorSlots slots;
+        private final long[] booked;
+
+        DaySlots(DoctorSlots slots) {
+            this.slots = slots;
+            this.booked = new long[(slots.labels.length + 63) >>> 6];
+        }
+
+        synchronized void set(int minuteOfDay, boolean taken) {
+            int index = slots.indexOf(minuteOfDay);
+            if (index < 0) {
+                return;
+            }
+            if (taken) {
+                booked[index >>> 6] |= 1L << index;
+            } else {
+                booked[index >>> 6] &= ~(1L << index);
+            }
+        }
+
+        synchronized boolean isFree(int minuteOfDay) {
+            int index = slots.indexOf(minuteOfDay);
+            return index >= 0 && (booked[index >>> 6] & (1L << index)) == 0;
+        }
+
+        synchronized List<String> available() {
+            List<String> result = new ArrayList<>(slots.labels.length);
+            for (int i = 0; i < slots.labels.length; i++) {
+                if ((booked[i >>> 6] & (1L << i)) == 0) {
+                    result.add(slots.labels[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
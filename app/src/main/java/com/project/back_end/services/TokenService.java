@@ -1,32 +1,46 @@
 package com.project.back_end.services;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import com.project.back_end.DTO.AuthenticatedPrincipal;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AdminRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class TokenService {
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
-    public TokenService(AdminRepository adminRepository,DoctorRepository doctorRepository,PatientRepository patientRepository) {
+    private final PrincipalCache principalCache;
+    public TokenService(@Value("${jwt.secret}") String secret,AdminRepository adminRepository,DoctorRepository doctorRepository,PatientRepository patientRepository,
+                        PrincipalCache principalCache) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
         this.adminRepository=adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository=patientRepository;
-    }
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        this.principalCache=principalCache;
     }
 
     public String generateToken(String email) {
@@ -34,36 +48,77 @@ public class TokenService {
                 .subject(email)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000L * 60 * 60 * 24 * 7))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String extractEmail(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                return cached.subject();
+            }
+            verifiedTokens.remove(key, cached);
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            remember(key, new VerifiedToken(claims.getSubject(), expiration.getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    private void remember(String key, VerifiedToken verified) {
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(key, verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(String subject, long expiresAt) {
     }
 
     public boolean validateToken(String token,String user) {
+        return resolvePrincipal(token, user) != null;
+    }
+
+    public AuthenticatedPrincipal resolvePrincipal(String token,String user) {
         try {
             String extracted = extractEmail(token);
+            Long cached = principalCache.get(user, extracted);
+            if(cached!=null)
+            {
+                return new AuthenticatedPrincipal(user, extracted, cached);
+            }
+            Long id = null;
             if(user.equals("admin"))
             {
                 Admin admin =adminRepository.findByUsername(extracted);
                 if(admin!=null)
                 {
-                    return true;
+                    id = admin.getId();
                 }
             }
             else if(user.equals("doctor"))
             {
                 Doctor doctor=doctorRepository.findByEmail(extracted);
-                if(doctor!=null)
+                if(doctor!=null && !doctor.isDeleting())
                 {
-                    return true;
+                    id = doctor.getId();
                 }
             }
             else if(user.equals("patient"))
@@ -71,12 +126,17 @@ public class TokenService {
                 Patient patient=patientRepository.findByEmail(extracted);
                 if(patient!=null)
                 {
-                    return true;
+                    id = patient.getId();
                 }
             }
-            return false;
+            if(id==null)
+            {
+                return null;
+            }
+            principalCache.put(user, extracted, id);
+            return new AuthenticatedPrincipal(user, extracted, id);
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 import { openModal } from "../js/components/modals.js";
-import { getDoctors, filterDoctors, saveDoctor } from "./services/doctorServices.js";
+import { filterDoctors, saveDoctor } from "./services/doctorServices.js";
 import { createDoctorCard } from "./components/doctorCard.js";
+import { attachDoctorSuggestions } from "./components/doctorSuggestions.js";
+import { loadDoctorPages } from "./components/doctorPages.js";
 
 document.addEventListener("DOMContentLoaded", () => {
   const addDocBtn = document.getElementById("addDocBtn");
@@ -14,17 +16,22 @@ document.addEventListener("DOMContentLoaded", () => {
     });
   }
 
-  if (searchBar) searchBar.addEventListener("input", filterDoctorsOnChange);
+  if (searchBar) {
+    searchBar.addEventListener("input", filterDoctorsOnChange);
+    attachDoctorSuggestions(searchBar, () => loadedDoctors);
+  }
   if (filterTime) filterTime.addEventListener("change", filterDoctorsOnChange);
   if (filterSpecialty) filterSpecialty.addEventListener("change", filterDoctorsOnChange);
 
   loadDoctorCards();
 });
 
+let loadedDoctors = [];
+
 async function loadDoctorCards() {
   try {
-    const doctors = await getDoctors();
-    renderDoctorCards(doctors);
+    loadedDoctors = [];
+    await loadDoctorPages(document.getElementById("content"), doctors => loadedDoctors.push(...doctors));
   } catch (error) {
     console.error("Error loading doctors:", error);
   }
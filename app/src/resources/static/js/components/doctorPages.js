@@ -0,0 +1,31 @@
+import { getDoctors } from '../services/doctorServices.js';
+import { createDoctorCard } from './doctorCard.js';
+
+// Renders the doctor list one page at a time, with a "Load more" button while pages remain.
+// onPage receives each page so the caller can keep track of the doctors on screen.
+export async function loadDoctorPages(contentDiv, onPage) {
+  contentDiv.innerHTML = "";
+  const more = document.createElement("button");
+  more.textContent = "Load more";
+  contentDiv.appendChild(more);
+
+  let after = 0;
+  const loadPage = async () => {
+    more.disabled = true;
+    const { doctors, nextCursor } = await getDoctors(after);
+    // A filter or a reload replaced the list while this page was in flight
+    if (!more.isConnected) {
+      return;
+    }
+    doctors.forEach(doctor => contentDiv.insertBefore(createDoctorCard(doctor), more));
+    onPage(doctors);
+    after = nextCursor;
+    if (after === null) {
+      more.remove();
+    } else {
+      more.disabled = false;
+    }
+  };
+  more.addEventListener("click", loadPage);
+  await loadPage();
+}
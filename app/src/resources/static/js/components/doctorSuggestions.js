@@ -0,0 +1,28 @@
+import { autocompleteDoctors } from '../services/doctorServices.js';
+
+// Fills a datalist under the search box from /doctor/autocomplete. The ids are resolved against the
+// doctors already on the page; the search results themselves still come from /doctor/filter.
+export function attachDoctorSuggestions(input, getLoadedDoctors, limit = 8) {
+  const list = document.createElement("datalist");
+  list.id = `${input.id}Suggestions`;
+  input.after(list);
+  input.setAttribute("list", list.id);
+
+  let latest = 0;
+  input.addEventListener("input", async () => {
+    const request = ++latest;
+    const prefix = input.value.trim();
+    const ids = prefix ? await autocompleteDoctors(prefix, limit) : [];
+    if (request !== latest) {
+      return;
+    }
+    const byId = new Map(getLoadedDoctors().map(doctor => [doctor.id, doctor]));
+    list.innerHTML = "";
+    (ids || []).map(id => byId.get(id)).filter(Boolean).forEach(doctor => {
+      const option = document.createElement("option");
+      option.value = doctor.name;
+      option.label = doctor.specialty;
+      list.appendChild(option);
+    });
+  });
+}
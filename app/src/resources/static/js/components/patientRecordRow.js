@@ -1,16 +1,21 @@
-export function createPatientRecordRow(patient) {
+export function createPatientRecordRow(patient, prescription) {
   const tableRow = document.createElement("tr");
   tableRow.innerHTML = `
       <td class="patient-id">${patient.appointmentDate}</td>
       <td>${patient.id}</td>
       <td>${patient.patientId}</td>
-      <td><img src="../assets/images/addPrescriptionIcon/addPrescription.png" alt="addPrescriptionIcon" class="prescription-btn" data-id="${patient.id}"></img></td>
+      <td>${prescription
+        ? `<img src="../assets/images/addPrescriptionIcon/addPrescription.png" alt="addPrescriptionIcon" class="prescription-btn" data-id="${patient.id}"></img> ${prescription.medication} (${prescription.dosage})`
+        : "-"}</td>
     `;
 
-  tableRow.querySelector(".prescription-btn").addEventListener("click", () =>
-  {
-    window.location.href = `/pages/addPrescription.html?mode=view&appointmentId=${patient.id}`;
-  });
+  const prescriptionBtn = tableRow.querySelector(".prescription-btn");
+  if (prescriptionBtn) {
+    prescriptionBtn.addEventListener("click", () =>
+    {
+      window.location.href = `/pages/addPrescription.html?mode=view&appointmentId=${patient.id}`;
+    });
+  }
 
   return tableRow;
 }
\ No newline at end of file
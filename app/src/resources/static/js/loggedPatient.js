@@ -1,5 +1,6 @@
-import { getDoctors } from './services/doctorServices.js';
 import { createDoctorCard } from './components/doctorCard.js';
+import { attachDoctorSuggestions } from './components/doctorSuggestions.js';
+import { loadDoctorPages } from './components/doctorPages.js';
 import { filterDoctors } from './services/doctorServices.js';
 import { bookAppointment } from './services/appointmentRecordService.js';
 
@@ -7,17 +8,11 @@ document.addEventListener("DOMContentLoaded", () => {
   loadDoctorCards();
 });
 
-function loadDoctorCards() {
-  getDoctors()
-    .then(doctors => {
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
+let loadedDoctors = [];
 
-      doctors.forEach(doctor => {
-        const card = createDoctorCard(doctor);
-        contentDiv.appendChild(card);
-      });
-    })
+function loadDoctorCards() {
+  loadedDoctors = [];
+  loadDoctorPages(document.getElementById("content"), doctors => loadedDoctors.push(...doctors))
     .catch(error => {
       console.error("Failed to load doctors:", error);
     });
@@ -79,6 +74,7 @@ export function showBookingOverlay(e, doctor, patient) {
 }
 
 document.getElementById("searchBar").addEventListener("input", filterDoctorsOnChange);
+attachDoctorSuggestions(document.getElementById("searchBar"), () => loadedDoctors);
 document.getElementById("filterTime").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterSpecialty").addEventListener("change", filterDoctorsOnChange);
 
@@ -1,6 +1,7 @@
-import { getDoctors } from './services/doctorServices.js';
 import { openModal } from './components/modals.js';
 import { createDoctorCard } from './components/doctorCard.js';
+import { attachDoctorSuggestions } from './components/doctorSuggestions.js';
+import { loadDoctorPages } from './components/doctorPages.js';
 import { filterDoctors } from './services/doctorServices.js';
 import { patientSignup, patientLogin } from './services/patientServices.js';
 
@@ -24,23 +25,18 @@ document.addEventListener("DOMContentLoaded", () => {
   }
 });
 
-function loadDoctorCards() {
-  getDoctors()
-    .then(doctors => {
-      const contentDiv = document.getElementById("content");
-      contentDiv.innerHTML = "";
+let loadedDoctors = [];
 
-      doctors.forEach(doctor => {
-        const card = createDoctorCard(doctor);
-        contentDiv.appendChild(card);
-      });
-    })
+function loadDoctorCards() {
+  loadedDoctors = [];
+  loadDoctorPages(document.getElementById("content"), doctors => loadedDoctors.push(...doctors))
     .catch(error => {
       console.error("Failed to load doctors:", error);
     });
 }
 
 document.getElementById("searchBar").addEventListener("input", filterDoctorsOnChange);
+attachDoctorSuggestions(document.getElementById("searchBar"), () => loadedDoctors);
 document.getElementById("filterTime").addEventListener("change", filterDoctorsOnChange);
 document.getElementById("filterSpecialty").addEventListener("change", filterDoctorsOnChange);
 
@@ -54,8 +50,7 @@ function filterDoctorsOnChange() {
   const specialty = filterSpecialty.length > 0 ? filterSpecialty : null;
 
   filterDoctors(name, time, specialty)
-    .then(response => {
-      const doctors = response.doctors;
+    .then(doctors => {
       const contentDiv = document.getElementById("content");
       contentDiv.innerHTML = "";
 
@@ -1,4 +1,4 @@
-import { getPatientAppointments } from "./services/patientServices.js";
+import { getPatientRecord } from "./services/patientServices.js";
 import { createPatientRecordRow } from './components/patientRecordRow.js';
 
 const tableBody = document.getElementById("patientTableBody");
@@ -14,20 +14,29 @@ async function initializePage() {
   try {
     if (!token) throw new Error("No token found.");
 
-    const appointmentData = await getPatientAppointments(patientId, token, "doctor") || [];
+    const appointmentData = [];
+    const prescriptions = [];
+    let cursor = "";
+    while (cursor !== null && cursor !== undefined) {
+      const record = await getPatientRecord(patientId, token, "doctor", cursor);
+      if (!record) break;
+      appointmentData.push(...(record.appointments || []));
+      prescriptions.push(...(record.prescriptions || []));
+      cursor = record.nextCursor;
+    }
 
     const filteredAppointments = appointmentData.filter(app =>
       app.doctorId == doctorId
     );
-    console.log(filteredAppointments);
-    renderAppointments(filteredAppointments);
+    const prescriptionsByAppointment = new Map(prescriptions.map(p => [p.appointmentId, p]));
+    renderAppointments(filteredAppointments, prescriptionsByAppointment);
   } catch (error) {
     console.error("Error loading appointments:", error);
     alert("Failed to load your appointments.");
   }
 }
 
-function renderAppointments(appointments) {
+function renderAppointments(appointments, prescriptionsByAppointment) {
   tableBody.innerHTML = "";
 
   const actionTh = document.querySelector("#patientTable thead tr th:last-child");
@@ -41,7 +50,7 @@ function renderAppointments(appointments) {
   }
 
   appointments.forEach(appointment => {
-    const row = createPatientRecordRow(appointment);
+    const row = createPatientRecordRow(appointment, prescriptionsByAppointment.get(appointment.id));
     tableBody.appendChild(row);
   });
 }
\ No newline at end of file
@@ -2,19 +2,19 @@ import BASE_API from '../config/config.js';
 
 const DOCTOR_API = `${BASE_API}/doctor`;
 
-export async function getDoctors() {
+// One keyset page of GET /doctor; pass the returned nextCursor back as after for the next page
+export async function getDoctors(after = 0, size = 20) {
   try {
-    const response = await fetch(DOCTOR_API);
-    if (response.ok) {
-      const data = await response.json();
-      return data.doctors || [];
-    } else {
+    const response = await fetch(`${DOCTOR_API}?after=${after}&size=${size}`);
+    if (!response.ok) {
       console.error('Couldn\'t retrieve doctors from the API. Status:', response.status);
-      return [];
+      return { doctors: [], nextCursor: null };
     }
+    const data = await response.json();
+    return { doctors: data.doctors || [], nextCursor: data.nextCursor ?? null };
   } catch (error) {
     console.error('Network error occurred while fetching doctors:', error);
-    return [];
+    return { doctors: [], nextCursor: null };
   }
 }
 
@@ -71,20 +71,47 @@ export async function saveDoctor(doctor, token) {
   }
 }
 
+// Results come back one page at a time; keep requesting until the reported totalPages is reached
 export async function filterDoctors(name = '', time = '', specialty = '') {
   try {
     const url = `${DOCTOR_API}/filter/${name || 'null'}/${time || 'null'}/${specialty || 'null'}`;
-    const response = await fetch(url);
-    if (response.ok) {
+    const doctors = [];
+    let page = 0;
+    let totalPages = 1;
+    while (page < totalPages) {
+      const response = await fetch(`${url}?page=${page}`);
+      if (!response.ok) {
+        console.error('Failed to filter doctors.');
+        return doctors;
+      }
       const result = await response.json();
-      return Array.isArray(result) ? result : result.doctors || [];
-    } else {
-      console.error('Failed to filter doctors.');
-      return [];
+      if (Array.isArray(result)) {
+        return result;
+      }
+      doctors.push(...(result.doctors || []));
+      totalPages = result.totalPages || 0;
+      page++;
     }
+    return doctors;
   } catch (error) {
     console.error('Error occurred while filtering doctors:', error);
     alert('Something went wrong while filtering doctors.');
     return [];
   }
-}
\ No newline at end of file
+}
+export async function autocompleteDoctors(prefix, limit = 8) {
+  try {
+    const params = new URLSearchParams({ prefix, limit });
+    const response = await fetch(`${DOCTOR_API}/autocomplete?${params}`);
+    if (!response.ok) {
+      console.error('Failed to fetch doctor suggestions. Status:', response.status);
+      return null;
+    }
+    const result = await response.json();
+    return result.ids || [];
+  } catch (error) {
+    console.error('Error occurred while fetching doctor suggestions:', error);
+    return null;
+  }
+}
+
@@ -47,38 +47,62 @@ export async function getPatientData(token) {
 
 export async function getPatientAppointments(id, token, user) {
   try {
-    const response = await fetch(`${PATIENT_API}/${id}/${user}/${token}`);
-    const data = await response.json();
-    console.log(data.appointments);
-    if (response.ok) {
-      return data.appointments;
+    const appointments = [];
+    let cursor = "";
+    while (cursor !== null && cursor !== undefined) {
+      const response = await fetch(`${PATIENT_API}/${id}/${user}/${token}?cursor=${encodeURIComponent(cursor)}`);
+      if (!response.ok) {
+        return appointments.length ? appointments : null;
+      }
+      const data = await response.json();
+      appointments.push(...(data.appointments || []));
+      cursor = data.nextCursor;
     }
-    return null;
+    return appointments;
   } catch (error) {
     console.error("Error fetching patient appointments:", error);
     return null;
   }
 }
 
+export async function getPatientRecord(id, token, user, cursor = "") {
+  try {
+    const response = await fetch(`${PATIENT_API}/record/${id}/${user}/${token}?cursor=${encodeURIComponent(cursor)}`);
+    if (!response.ok) {
+      console.error("Failed to fetch patient record:", response.status);
+      return null;
+    }
+    return await response.json();
+  } catch (error) {
+    console.error("Error fetching patient record:", error);
+    return null;
+  }
+}
+
 export async function filterAppointments(condition, name, token) {
   try {
-    const response = await fetch(`${PATIENT_API}/filter/${condition}/${name}/${token}`, {
-      method: "GET",
-      headers: {
-        "Content-Type": "application/json",
-      },
-    });
+    const appointments = [];
+    let cursor = "";
+    while (cursor !== null && cursor !== undefined) {
+      const response = await fetch(`${PATIENT_API}/filter/${condition}/${name}/${token}?cursor=${encodeURIComponent(cursor)}`, {
+        method: "GET",
+        headers: {
+          "Content-Type": "application/json",
+        },
+      });
 
-    if (response.ok) {
+      if (!response.ok) {
+        console.error("Failed to filter appointments:", response.statusText);
+        return { appointments };
+      }
       const data = await response.json();
-      return data;
-    } else {
-      console.error("Failed to filter appointments:", response.statusText);
-      return { appointments: [] };
+      appointments.push(...(data.appointments || []));
+      cursor = data.nextCursor;
     }
+    return { appointments };
   } catch (error) {
     console.error("Error during appointment filtering:", error);
     alert("Something went wrong!");
     return { appointments: [] };
   }
-}
\ No newline at end of file
+}
@@ -41,4 +41,21 @@ export async function getPrescription(appointmentId, token) {
     console.error("Error getting prescription:", error);
     throw error;
   }
-}
\ No newline at end of file
+}
+
+export async function getPrescriptions(appointmentIds, token) {
+  if (!appointmentIds.length) return [];
+  try {
+    const params = new URLSearchParams({ appointmentIds: appointmentIds.join(",") });
+    const response = await fetch(`${PRESCRIPTION_API}/batch/${token}?${params}`);
+    if (!response.ok) {
+      console.error("Failed to fetch prescriptions:", response.status);
+      return [];
+    }
+    const result = await response.json();
+    return result.prescriptions || [];
+  } catch (error) {
+    console.error("Error getting prescriptions:", error);
+    return [];
+  }
+}
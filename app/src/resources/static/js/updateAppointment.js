@@ -22,8 +22,9 @@ async function initializePage() {
     return;
   }
 
-  getDoctors()
-    .then(doctors => {
+  // Doctors are paged by id, so the page of one after doctorId - 1 is this doctor if it still exists
+  getDoctors(doctorId - 1, 1)
+    .then(({ doctors }) => {
       const doctor = doctors.find(d => d.id == doctorId);
       if (!doctor) {
         alert("Doctor not found.");
@@ -0,0 +1,24 @@
+package com.project.back_end.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TimeSlotTest {
+
+    @Test
+    void slotMayRunToMidnight() {
+        TimeSlot slot = TimeSlot.parse("23:00-24:00");
+        assertEquals(23 * 60, slot.getStartMinute());
+        assertEquals(24 * 60, slot.getEndMinute());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"23:00-24:30", "24:00-24:59", "10:00-10:00", "11:00-10:00", "9-10", "09:00-10:60"})
+    void invalidSlotsAreRejected(String value) {
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.parse(value));
+    }
+}
@@ -0,0 +1,201 @@
+package com.project.back_end.repo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+
+/**
+ * Runs EXPLAIN on the SQL each hot repository query generates and fails if any table is read by a full scan.
+ * H2 runs in MySQL mode with case-insensitive strings to match the production collation.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.project.back_end.repo.RepositoryQueryPlanTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 100;
+    private static final int APPOINTMENTS_PER_PATIENT = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    private final List<Doctor> doctors = new ArrayList<>();
+    private final List<Patient> patients = new ArrayList<>();
+    private final List<Long> appointmentIds = new ArrayList<>();
+    private final LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setName("Doctor " + i);
+            doctor.setSpecialty(i % 2 == 0 ? "Cardiology" : "Dermatology");
+            doctor.setEmail("doctor" + i + "@example.com");
+            doctor.setPassword("secret123");
+            doctor.setPhone(String.format("01000000%02d", i));
+            doctor.setAvailableTimes(List.of(TimeSlot.parse("09:00-10:00"), TimeSlot.parse("14:00-15:00")));
+            entityManager.persist(doctor);
+            doctors.add(doctor);
+        }
+        for (int i = 0; i < PATIENTS; i++) {
+            Patient patient = new Patient();
+            patient.setName("Patient " + i);
+            patient.setEmail("patient" + i + "@example.com");
+            patient.setPassword("secret123");
+            patient.setPhone(String.format("02000000%02d", i % 100));
+            patient.setAddress("Street " + i);
+            entityManager.persist(patient);
+            patients.add(patient);
+            for (int j = 0; j < APPOINTMENTS_PER_PATIENT; j++) {
+                Appointment appointment = new Appointment();
+                appointment.setDoctor(doctors.get((i + j) % DOCTORS));
+                appointment.setPatient(patient);
+                appointment.setAppointmentTime(start.plusDays(j).plusMinutes(i));
+                appointment.setStatus(j % 2);
+                entityManager.persist(appointment);
+                appointmentIds.add(appointment.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void appointmentQueriesUseIndexes() {
+        Long doctorId = doctors.get(0).getId();
+        Long patientId = patients.get(0).getId();
+        LocalDateTime end = start.plusDays(1);
+        PageRequest page = PageRequest.of(0, 50);
+
+        assertIndexed(() -> appointmentRepository.findDtoByDoctorIdAndAppointmentTimeBetween(doctorId, start, end));
+        assertIndexed(() -> appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                doctorId, start, end));
+        assertIndexed(() -> appointmentRepository.findBookedSlotsByDoctorIdInAndAppointmentTimeBetween(
+                List.of(doctorId, doctors.get(1).getId()), start, end));
+        assertIndexed(() -> appointmentRepository.findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(
+                doctorId, "Patient", start, end));
+        assertIndexed(() -> appointmentRepository.findDtoByPatientIdAfter(
+                patientId, start, 0L, page));
+        assertIndexed(() -> appointmentRepository.findDtoByPatientIdBefore(
+                patientId, end, start, 0L, page));
+        assertIndexed(() -> appointmentRepository.findDtoByDoctorNameAndPatientIdAfter(
+                "Doctor", patientId, start, 0L, page));
+        assertIndexed(() -> appointmentRepository.findDtoByDoctorNameAndPatientIdBefore(
+                "Doctor", patientId, end, start, 0L, page));
+        assertIndexed(() -> appointmentRepository.findIdsByStatusAndAppointmentTimeBefore(
+                Appointment.SCHEDULED, end, page));
+        assertIndexed(() -> appointmentRepository.updateStatusByIdInAndStatus(Appointment.EXPIRED, List.of(-1L),
+                Appointment.SCHEDULED));
+        assertIndexed(() -> appointmentRepository.updateStatus(1, -1L));
+        assertIndexed(() -> appointmentRepository.findIdsByDoctorId(doctorId, page));
+    }
+
+    @Test
+    void archiveQueriesUseIndexes() {
+        archivedAppointmentRepository.copyFromAppointments(appointmentIds);
+        Long doctorId = doctors.get(0).getId();
+        Long patientId = patients.get(0).getId();
+        LocalDateTime end = start.plusDays(1);
+        PageRequest page = PageRequest.of(0, 50);
+
+        assertIndexed(() -> archivedAppointmentRepository.findDtoByPatientIdAfter(patientId, start, 0L, page));
+        assertIndexed(() -> archivedAppointmentRepository.findDtoByDoctorNameAndPatientIdAfter(
+                "Doctor", patientId, start, 0L, page));
+        assertIndexed(() -> archivedAppointmentRepository.findDtoByDoctorIdAndAppointmentTimeBetween(
+                doctorId, start, end));
+        assertIndexed(() -> archivedAppointmentRepository.findDtoByDoctorIdAndPatientNameAndAppointmentTimeBetween(
+                doctorId, "Patient", start, end));
+        assertIndexed(() -> appointmentRepository.deleteAllByIdIn(List.of(-1L)));
+        assertIndexed(() -> archivedAppointmentRepository.findIdsByDoctorId(doctorId, page));
+        assertIndexed(() -> archivedAppointmentRepository.deleteAllByIdIn(List.of(-1L)));
+        assertIndexed(() -> archivedAppointmentRepository.findNewestAppointmentTime());
+        assertIndexed(() -> archivedAppointmentRepository.streamDtoByAppointmentTimeBetween(start, end).close());
+        assertIndexed(() -> archivedAppointmentRepository.streamDtoByDoctorIdAndAppointmentTimeBetween(
+                doctorId, start, end).close());
+    }
+
+    @Test
+    void doctorAndPatientLookupsUseIndexes() {
+        assertIndexed(() -> doctorRepository.findByEmail("doctor3@example.com"));
+        assertIndexed(() -> doctorRepository.findBySpecialty("cardiology"));
+        assertIndexed(() -> doctorRepository.findBySpecialtyAndIdGreaterThan("cardiology", 0L, PageRequest.of(0, 201)));
+        assertIndexed(() -> doctorRepository.findWithAvailableTimesByIdIn(List.of(doctors.get(0).getId())));
+        assertIndexed(() -> doctorRepository.findSummariesByIdGreaterThan(0L, PageRequest.of(0, 10)));
+        assertIndexed(() -> doctorRepository.findSlotLabelsByDoctorIdIn(List.of(doctors.get(0).getId())));
+        assertIndexed(() -> patientRepository.findByEmail("patient7@example.com"));
+        assertIndexed(() -> patientRepository.findByPhone("0200000007"));
+    }
+
+    private void assertIndexed(Runnable query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "query issued no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertTrue(!plan.contains(".tableScan"), "full scan in plan for " + sql + "\n" + plan);
+        }
+        entityManager.clear();
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+/**
+ * Books against H2 with the real uk_appointment_doctor_time constraint. Data is committed so every booking
+ * runs in its own transaction, as it does in production; each run books a different day.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:booking;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AppointmentService.class, SlotIndex.class, BookingLocks.class, AppointmentArchive.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentBookingConcurrencyTest {
+
+    private static final int DOCTORS = 16;
+    private static final int ATTEMPTS_PER_SLOT = 4;
+    private static final List<String> SLOTS = List.of(
+            "09:00-10:00", "10:00-11:00", "11:00-12:00", "12:00-13:00",
+            "13:00-14:00", "14:00-15:00", "15:00-16:00", "16:00-17:00");
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotIndex slotIndex;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64})
+    void concurrentBookingsNeverDoubleBookASlot(int threads) throws Exception {
+        LocalDate day = LocalDate.now().plusDays(threads);
+        Patient patient = patient("concurrency" + threads);
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(doctor("concurrency" + threads + "-" + i));
+        }
+
+        List<Appointment> requests = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            for (String slot : SLOTS) {
+                for (int attempt = 0; attempt < ATTEMPTS_PER_SLOT; attempt++) {
+                    requests.add(appointment(doctor, patient, day, slot));
+                }
+            }
+        }
+        Collections.shuffle(requests, new Random(42));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Appointment request : requests) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (appointmentService.bookAppointment(request).getStatusCode().value() == HttpStatus.CREATED.value()) {
+                    created.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        int stored = 0;
+        for (Doctor doctor : doctors) {
+            stored += appointmentRepository.findAppointmentTimesByDoctorIdAndAppointmentTimeBetween(
+                    doctor.getId(), day.atStartOfDay(), day.atTime(LocalTime.MAX)).size();
+        }
+        int expected = DOCTORS * SLOTS.size();
+        assertEquals(expected, created.get());
+        assertEquals(expected, stored);
+        System.out.printf("threads=%d attempts=%d throughput=%.0f bookings/s%n",
+                threads, requests.size(), requests.size() / (elapsed / 1e9));
+    }
+
+    @Test
+    void slotTakenByAnotherInstanceIsReportedAsUnavailable() {
+        LocalDate day = LocalDate.now().plusDays(100);
+        Doctor doctor = doctor("elsewhere");
+        Patient patient = patient("elsewhere");
+        slotIndex.check(doctor.getId(), day, LocalTime.of(9, 0));
+        appointmentRepository.save(appointment(doctor, patient, day, "09:00-10:00"));
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                appointmentService.bookAppointment(appointment(doctor, patient, day, "09:00-10:00")).getStatusCode());
+    }
+
+    @Test
+    void otherIntegrityViolationsAreReportedAsErrors() {
+        LocalDate day = LocalDate.now().plusDays(101);
+        Doctor doctor = doctor("missing-patient");
+        Patient missing = new Patient();
+        missing.setId(Long.MAX_VALUE);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                appointmentService.bookAppointment(appointment(doctor, missing, day, "09:00-10:00")).getStatusCode());
+    }
+
+    private Doctor doctor(String key) {
+        Doctor doctor = new Doctor();
+        doctor.setName("Doctor " + key);
+        doctor.setSpecialty("Cardiology");
+        doctor.setEmail(key + "@doctors.example.com");
+        doctor.setPassword("secret123");
+        doctor.setPhone("0123456789");
+        doctor.setAvailableTimes(SLOTS.stream().map(TimeSlot::parse).toList());
+        return doctorRepository.save(doctor);
+    }
+
+    private Patient patient(String key) {
+        Patient patient = new Patient();
+        patient.setName("Patient " + key);
+        patient.setEmail(key + "@patients.example.com");
+        patient.setPassword("secret123");
+        patient.setPhone("0123456789");
+        patient.setAddress("Street 1");
+        return patientRepository.save(patient);
+    }
+
+    private static Appointment appointment(Doctor doctor, Patient patient, LocalDate day, String slot) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentTime(LocalDateTime.of(day, LocalTime.parse(slot.substring(0, 5))));
+        return appointment;
+    }
+}
@@ -0,0 +1,224 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({AppointmentService.class, PatientService.class, SlotIndex.class, BookingLocks.class, PrincipalCache.class,
+        AppointmentArchive.class})
+class AppointmentListingQueryCountTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private AppointmentArchive appointmentArchive;
+
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appointmentListingsCostOneStatement() {
+        Doctor doctor = new Doctor();
+        doctor.setName("Doctor Query");
+        doctor.setSpecialty("Cardiology");
+        doctor.setEmail("doctor.query@example.com");
+        doctor.setPassword("secret123");
+        doctor.setPhone("0123456789");
+        doctor.setAvailableTimes(List.of(TimeSlot.parse("09:00-10:00")));
+        entityManager.persist(doctor);
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        Long patientId = null;
+        for (int i = 0; i < 20; i++) {
+            Patient patient = new Patient();
+            patient.setName("Patient " + i);
+            patient.setEmail("patient" + i + "@example.com");
+            patient.setPassword("secret123");
+            patient.setPhone("0123456789");
+            patient.setAddress("Street " + i);
+            entityManager.persist(patient);
+            patientId = patient.getId();
+
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setAppointmentTime(LocalDateTime.of(day, LocalTime.of(8, 0)).plusMinutes(i * 15L));
+            appointment.setStatus(0);
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<AppointmentDTO> daily = (List<AppointmentDTO>) appointmentService
+                .getAppointment("null", day, doctor.getId()).get("appointments");
+        assertEquals(20, daily.size());
+        assertEquals("Doctor Query", daily.get(0).getDoctorName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<AppointmentDTO> history = (List<AppointmentDTO>) patientService
+                .getPatientAppointment(patientId, null, 50).getBody().get("appointments");
+        assertEquals(1, history.size());
+        assertEquals("Street 19", history.get(0).getPatientAddress());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        patientService.filterByDoctorAndCondition("future", "query", patientId, null, 50);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patientHistoryPagesFollowTheContinuationToken() {
+        Doctor doctor = new Doctor();
+        doctor.setName("Doctor History");
+        doctor.setSpecialty("Cardiology");
+        doctor.setEmail("doctor.history@example.com");
+        doctor.setPassword("secret123");
+        doctor.setPhone("0123456789");
+        entityManager.persist(doctor);
+
+        Patient patient = new Patient();
+        patient.setName("Long Term");
+        patient.setEmail("long.term@example.com");
+        patient.setPassword("secret123");
+        patient.setPhone("0123456789");
+        patient.setAddress("Street 1");
+        entityManager.persist(patient);
+
+        LocalDateTime first = LocalDate.now().plusDays(1).atTime(9, 0);
+        for (int i = 0; i < 25; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setAppointmentTime(first.plusDays(i));
+            appointment.setStatus(0);
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String cursor = null;
+        int pages = 0;
+        int seen = 0;
+        LocalDateTime previous = null;
+        do {
+            statistics.clear();
+            Map<String, Object> page = patientService.getPatientAppointment(patient.getId(), cursor, 10).getBody();
+            assertEquals(1, statistics.getPrepareStatementCount());
+            for (AppointmentDTO appointment : (List<AppointmentDTO>) page.get("appointments")) {
+                assertTrue(previous == null || appointment.getAppointmentTime().isAfter(previous));
+                previous = appointment.getAppointmentTime();
+                seen++;
+            }
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(25, seen);
+        assertEquals(3, pages);
+        assertEquals(400, patientService.getPatientAppointment(patient.getId(), "not a cursor", 10)
+                .getStatusCode().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void historyReadsTheArchiveOnlyUpToItsNewestRow() {
+        Doctor doctor = new Doctor();
+        doctor.setName("Doctor Archive");
+        doctor.setSpecialty("Cardiology");
+        doctor.setEmail("doctor.archive@example.com");
+        doctor.setPassword("secret123");
+        doctor.setPhone("0123456789");
+        entityManager.persist(doctor);
+
+        Patient patient = new Patient();
+        patient.setName("Archived Patient");
+        patient.setEmail("archived.patient@example.com");
+        patient.setPassword("secret123");
+        patient.setPhone("0123456789");
+        patient.setAddress("Street 2");
+        entityManager.persist(patient);
+
+        LocalDateTime old = LocalDate.now().minusYears(2).atTime(9, 0);
+        LocalDateTime upcoming = LocalDate.now().plusDays(1).atTime(9, 0);
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentTime(upcoming);
+        appointment.setStatus(Appointment.SCHEDULED);
+        entityManager.persist(appointment);
+        entityManager.flush();
+        // A past appointment fails @Future on persist, so the aged row is inserted directly
+        entityManager.getEntityManager().createNativeQuery(
+                        "INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) VALUES (?1, ?2, ?3, ?4)")
+                .setParameter(1, old)
+                .setParameter(2, Appointment.COMPLETED)
+                .setParameter(3, doctor.getId())
+                .setParameter(4, patient.getId())
+                .executeUpdate();
+        List<Long> oldIds = appointmentRepository.findIdsByStatusAndAppointmentTimeBefore(Appointment.COMPLETED,
+                LocalDateTime.now(), PageRequest.of(0, 10));
+        archivedAppointmentRepository.copyFromAppointments(oldIds);
+        appointmentRepository.deleteAllByIdIn(oldIds);
+        entityManager.clear();
+        appointmentArchive.refreshWatermark();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<String, Object> first = patientService.getPatientAppointment(patient.getId(), null, 2).getBody();
+        List<AppointmentDTO> merged = (List<AppointmentDTO>) first.get("appointments");
+        assertEquals(List.of(old, upcoming), merged.stream().map(AppointmentDTO::getAppointmentTime).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // The next cursor is past the newest archived row, so only the hot table is read
+        statistics.clear();
+        Map<String, Object> second = patientService.getPatientAppointment(patient.getId(),
+                (String) first.get("nextCursor"), 2).getBody();
+        assertTrue(((List<?>) second.get("appointments")).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BookingLocksTest {
+
+    private final BookingLocks bookingLocks = new BookingLocks(8);
+
+    @Test
+    void twoDoctorsAreLockedInStripeOrderWhicheverWayTheAppointmentMoves() {
+        List<?> forward = bookingLocks.forDoctors(3, 5);
+        assertEquals(List.of(bookingLocks.forDoctor(3), bookingLocks.forDoctor(5)), forward);
+        assertEquals(forward, bookingLocks.forDoctors(5, 3));
+    }
+
+    @Test
+    void doctorsSharingAStripeLockItOnce() {
+        assertEquals(List.of(bookingLocks.forDoctor(2)), bookingLocks.forDoctors(2, 10));
+        assertEquals(List.of(bookingLocks.forDoctor(4)), bookingLocks.forDoctors(4, 4));
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.models.DoctorDeletion;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.ArchivedAppointmentRepository;
+import com.project.back_end.repo.DoctorDeletionRepository;
+import com.project.back_end.repo.DoctorRepository;
+
+class DoctorDeletionJobTest {
+
+    private static final long DOCTOR_ID = 7L;
+
+    private final DoctorRepository doctorRepository = mock(DoctorRepository.class);
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final ArchivedAppointmentRepository archivedAppointmentRepository =
+            mock(ArchivedAppointmentRepository.class);
+    private final DoctorDeletionRepository doctorDeletionRepository = mock(DoctorDeletionRepository.class);
+    private final DoctorDeletion deletion = new DoctorDeletion(DOCTOR_ID);
+
+    // Runs callbacks inline; the repositories are mocks, so there is nothing to commit
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    });
+
+    private final DoctorDeletionJob job = new DoctorDeletionJob(doctorRepository, appointmentRepository,
+            archivedAppointmentRepository, doctorDeletionRepository, transactionTemplate, 2, 0);
+
+    DoctorDeletionJobTest() {
+        when(doctorDeletionRepository.findById(DOCTOR_ID)).thenReturn(Optional.of(deletion));
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        job.shutdown();
+    }
+
+    @Test
+    void deletesHotThenArchivedAppointmentsInChunksAndRecordsProgress() {
+        when(appointmentRepository.findIdsByDoctorId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(archivedAppointmentRepository.findIdsByDoctorId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(10L));
+
+        job.run(DOCTOR_ID);
+
+        verify(appointmentRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(appointmentRepository).deleteAllByIdIn(List.of(3L));
+        verify(archivedAppointmentRepository).deleteAllByIdIn(List.of(10L));
+        verify(doctorRepository).deleteById(DOCTOR_ID);
+        assertEquals(4, deletion.getAppointmentsDeleted());
+        assertEquals(DoctorDeletion.DONE, deletion.getStatus());
+    }
+
+    @Test
+    void failingChunkMarksTheJobFailed() {
+        when(appointmentRepository.findIdsByDoctorId(anyLong(), any(Pageable.class))).thenReturn(List.of(1L));
+        doThrow(new IllegalStateException("lock wait timeout")).when(appointmentRepository).deleteAllByIdIn(any());
+
+        job.run(DOCTOR_ID);
+
+        verify(doctorRepository, never()).deleteById(anyLong());
+        assertEquals(DoctorDeletion.FAILED, deletion.getStatus());
+    }
+
+    @Test
+    void shutdownLeavesTheJobRunningAndStartupResumesIt() {
+        when(appointmentRepository.findIdsByDoctorId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of());
+        when(archivedAppointmentRepository.findIdsByDoctorId(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        Thread.currentThread().interrupt();
+        job.run(DOCTOR_ID);
+
+        assertTrue(Thread.interrupted());
+        assertEquals(DoctorDeletion.RUNNING, deletion.getStatus());
+        verify(doctorRepository, never()).deleteById(anyLong());
+
+        when(doctorDeletionRepository.findByStatus(DoctorDeletion.RUNNING)).thenReturn(List.of(deletion));
+        job.resumeInterrupted();
+
+        verify(doctorRepository, timeout(5000)).deleteById(DOCTOR_ID);
+        assertEquals(2, deletion.getAppointmentsDeleted());
+    }
+}
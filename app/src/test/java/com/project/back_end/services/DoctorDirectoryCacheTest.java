@@ -0,0 +1,67 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class DoctorDirectoryCacheTest {
+
+    @Test
+    void equivalentFiltersShareOneEntryUntilADoctorWrite() {
+        DoctorDirectoryCache cache = new DoctorDirectoryCache(1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        DoctorDirectoryCache.Body first = cache.get("smith", "Cardiology", "AM", 0, 100,
+                () -> json("v" + loads.incrementAndGet()));
+        DoctorDirectoryCache.Body second = cache.get("Smith", "cardiology", "am", 0, 100,
+                () -> json("v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(first.etag(), second.etag());
+
+        cache.advance();
+        DoctorDirectoryCache.Body reloaded = cache.get("smith", "Cardiology", "am", 0, 100,
+                () -> json("v" + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertNotEquals(first.etag(), reloaded.etag());
+    }
+
+    @Test
+    void resultLoadedAcrossAWriteIsNotStored() {
+        DoctorDirectoryCache cache = new DoctorDirectoryCache(1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(null, null, null, 0, 100, () -> {
+            loads.incrementAndGet();
+            cache.advance();
+            return json("stale");
+        });
+        cache.get(null, null, null, 0, 100, () -> json("fresh" + loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOnceOverTheByteBudget() {
+        DoctorDirectoryCache cache = new DoctorDirectoryCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", null, null, 0, 100, () -> json("aaaa" + loads.incrementAndGet()));
+        cache.get("b", null, null, 0, 100, () -> json("bbbb" + loads.incrementAndGet()));
+        cache.get("a", null, null, 0, 100, () -> json("aaaa" + loads.incrementAndGet()));
+        cache.get("c", null, null, 0, 100, () -> json("cccc" + loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+
+        cache.get("a", null, null, 0, 100, () -> json("aaaa" + loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+        cache.get("b", null, null, 0, 100, () -> json("bbbb" + loads.incrementAndGet()));
+        assertEquals(4, loads.get());
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
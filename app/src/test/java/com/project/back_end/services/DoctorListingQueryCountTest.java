@@ -0,0 +1,77 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.project.back_end.DTO.DoctorSummary;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.secret=query-count-test-secret-0123456789abcdef"
+})
+@Import({DoctorService.class, TokenService.class, PrincipalCache.class, SlotIndex.class, DoctorDeletionJob.class,
+        DoctorDirectoryCache.class, DoctorNames.class})
+class DoctorListingQueryCountTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void doctorPageCostsTwoStatementsRegardlessOfTableSize() {
+        for (int i = 0; i < 60; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setName("Doctor " + i);
+            doctor.setSpecialty("Cardiology");
+            doctor.setEmail("doctor" + i + "@example.com");
+            doctor.setPassword("secret123");
+            doctor.setPhone("0123456789");
+            doctor.setAvailableTimes(List.of(
+                    TimeSlot.parse("09:00-10:00"),
+                    TimeSlot.parse("10:00-11:00"),
+                    TimeSlot.parse("14:00-15:00")));
+            entityManager.persist(doctor);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int size : new int[] {10, 25}) {
+            statistics.clear();
+            Map<String, Object> page = doctorService.getDoctors(0, size);
+
+            @SuppressWarnings("unchecked")
+            List<DoctorSummary> doctors = (List<DoctorSummary>) page.get("doctors");
+            assertEquals(size, doctors.size());
+            assertEquals(3, doctors.get(0).getAvailableTimes().size());
+            assertEquals(2, statistics.getPrepareStatementCount());
+        }
+
+        statistics.clear();
+        Long lastId = (Long) doctorService.getDoctors(0, 60).get("nextCursor");
+        Map<String, Object> tail = doctorService.getDoctors(lastId, 10);
+        assertEquals(0, ((List<?>) tail.get("doctors")).size());
+        assertNull(tail.get("nextCursor"));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
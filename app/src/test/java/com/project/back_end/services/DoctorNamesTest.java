@@ -0,0 +1,90 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.project.back_end.DTO.DoctorSummary;
+import com.project.back_end.repo.DoctorRepository;
+
+class DoctorNamesTest {
+
+    @Test
+    void nameSearchAnswersOnlyOnceLoadedAndConfirmsEveryCandidate() {
+        DoctorNames names = names(
+                new DoctorSummary(1L, "Alice Smith", "Cardiology", "alice@example.com", "0123456789"),
+                new DoctorSummary(2L, "Bob Smithers", "Dermatology", "bob@example.com", "0123456789"),
+                new DoctorSummary(3L, "Carol Mitsh", "Cardiology", "carol@example.com", "0123456789"));
+
+        assertNull(names.idsByName("smith"));
+        names.load();
+
+        assertEquals(List.of(1L, 2L), names.idsByName("SMITH").stream().sorted().toList());
+        assertEquals(List.of(3L), names.idsByName("mitsh"));
+        assertEquals(List.of(2L), names.idsByName("bo"));
+        assertEquals(List.of(), names.idsByName("smithy"));
+    }
+
+    @Test
+    void suggestsNameWordMatchesBeforeSpecialtiesUpToTheLimit() {
+        DoctorNames names = names(
+                new DoctorSummary(1L, "Alice  Carter", "Dermatology", "alice@example.com", "0123456789"),
+                new DoctorSummary(2L, "Carl Jones", "Cardiology", "carl@example.com", "0123456789"),
+                new DoctorSummary(3L, "Dana White", "Cardiology", "dana@example.com", "0123456789"));
+        names.load();
+
+        assertEquals(List.of(2L, 1L, 3L), names.suggest(" CAR", 10));
+        assertEquals(List.of(2L, 1L), names.suggest("car", 2));
+        assertEquals(List.of(1L), names.suggest("alice c", 10));
+        assertEquals(List.of(), names.suggest("", 10));
+    }
+
+    @Test
+    void writesKeepSuggestionsInTermOrder() {
+        DoctorNames names = names(
+                new DoctorSummary(1L, "Carl Jones", "Dermatology", "carl@example.com", "0123456789"),
+                new DoctorSummary(3L, "Cass Brown", "Dermatology", "cass@example.com", "0123456789"));
+        names.load();
+
+        names.put(2L, "Cara Stone", "Neurology");
+        names.put(4L, "Ada Carrow", "Cardiology");
+        assertEquals(List.of(2L, 1L, 4L, 3L), names.suggest("ca", 10));
+
+        names.put(1L, "Zed Jones", "Dermatology");
+        assertEquals(List.of(2L, 4L, 3L), names.suggest("ca", 10));
+    }
+
+    @Test
+    void followsDoctorWrites() {
+        DoctorNames names = names();
+        names.load();
+
+        names.put(5L, "Dana Jones", "Neurology");
+        assertEquals(List.of(5L), names.idsByName("jones"));
+        assertEquals(List.of(5L), names.suggest("neu", 10));
+
+        names.put(5L, "Dana Brown", "Oncology");
+        assertEquals(List.of(), names.idsByName("jones"));
+        assertEquals(List.of(5L), names.idsByName("brown"));
+        assertEquals(List.of(), names.suggest("neu", 10));
+
+        names.remove(5L);
+        assertEquals(List.of(), names.idsByName("brown"));
+        assertEquals(List.of(), names.suggest("dana", 10));
+    }
+
+    private static DoctorNames names(DoctorSummary... doctors) {
+        DoctorRepository doctorRepository = mock(DoctorRepository.class, withSettings().stubOnly());
+        when(doctorRepository.findSummariesByIdGreaterThan(anyLong(), any(Pageable.class))).thenReturn(List.of(doctors));
+        return new DoctorNames(doctorRepository);
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Commits its data so reads go through the shared cache rather than the test's persistence context
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "jwt.secret=query-count-test-secret-0123456789abcdef"
+})
+@Import({DoctorService.class, TokenService.class, PrincipalCache.class, SlotIndex.class, DoctorDeletionJob.class,
+        DoctorDirectoryCache.class, DoctorNames.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DoctorSecondLevelCacheTest {
+
+    private static final int DOCTORS = 20;
+
+    private static final int AVAILABILITY_CALLS = 5;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void readHeavyMixOnlyQueriesAppointmentsOnceWarm() {
+        List<Long> ids = seed("Cardiology");
+        Statistics statistics = statistics();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        readMix(ids, "Cardiology");
+        long cold = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        readMix(ids, "Cardiology");
+        long warm = statistics.getPrepareStatementCount();
+        System.out.printf("read-heavy mix: %d statements cold, %d warm%n", cold, warm);
+
+        // Doctors, their slots and the specialty lookup are all served from memory; booked slots are not cached
+        assertEquals(AVAILABILITY_CALLS, warm);
+        assertTrue(cold >= DOCTORS + AVAILABILITY_CALLS);
+    }
+
+    @Test
+    void updateDoctorEvictsTheDoctorAndTheSpecialtyQuery() {
+        List<Long> ids = seed("Dermatology");
+        readMix(ids, "Dermatology");
+
+        Doctor doctor = doctorRepository.findWithAvailableTimesById(ids.get(0)).orElseThrow();
+        doctor.setName("Renamed Doctor");
+        assertEquals(1, doctorService.updateDoctor(doctor));
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertEquals("Renamed Doctor", doctorRepository.findById(ids.get(0)).orElseThrow().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        doctorService.getDoctorsAvailability(null, "Dermatology", 0, LocalDate.now(), LocalDate.now());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+    }
+
+    private void readMix(List<Long> ids, String specialty) {
+        for (Long id : ids) {
+            doctorRepository.findById(id).orElseThrow();
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < AVAILABILITY_CALLS; i++) {
+            doctorService.getDoctorsAvailability(null, specialty, 0, today, today);
+        }
+    }
+
+    private List<Long> seed(String specialty) {
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setName(specialty + " Doctor " + i);
+            doctor.setSpecialty(specialty);
+            doctor.setEmail(specialty.toLowerCase() + i + "@example.com");
+            doctor.setPassword("secret123");
+            doctor.setPhone("0123456789");
+            doctor.setAvailableTimes(List.of(TimeSlot.parse("09:00-10:00"), TimeSlot.parse("14:00-15:00")));
+            doctors.add(doctor);
+        }
+        return doctorRepository.saveAll(doctors).stream().map(Doctor::getId).toList();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
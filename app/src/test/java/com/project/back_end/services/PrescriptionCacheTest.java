@@ -0,0 +1,96 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.back_end.models.Prescription;
+
+class PrescriptionCacheTest {
+
+    @Test
+    void servesRepeatedReadsFromMemoryAndEvictsLeastRecentlyUsed() {
+        PrescriptionCache cache = new PrescriptionCache(2, 30);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return List.of(new Prescription("Patient", id, "Ibuprofen", "200mg"));
+            });
+        }
+        assertEquals(1, loads.get());
+
+        cache.put(new Prescription("Patient", 2L, "Amoxicillin", "500mg"));
+        cache.get(1L, id -> List.of());
+        cache.put(new Prescription("Patient", 3L, "Paracetamol", "500mg"));
+
+        List<Prescription> reloaded = cache.get(2L, id -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertTrue(reloaded.isEmpty());
+        assertEquals(2, loads.get());
+        assertEquals(2L, cache.stats().get("evictions"));
+        assertEquals(3L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void missingPrescriptionIsCachedOnlyUntilTheNegativeTtlExpires() {
+        PrescriptionCache cache = new PrescriptionCache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(7L, id -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        cache.get(7L, id -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadDoesNotOverwriteAPrescriptionSavedWhileItRan() {
+        PrescriptionCache cache = new PrescriptionCache(10, 30);
+        Prescription saved = new Prescription("Patient", 5L, "Ibuprofen", "200mg");
+
+        List<Prescription> loaded = cache.get(5L, id -> {
+            cache.put(saved);
+            return List.of();
+        });
+
+        assertEquals(List.of(saved), loaded);
+        assertEquals(List.of(saved), cache.get(5L, id -> List.of()));
+    }
+
+    @Test
+    void batchReadLoadsOnlyTheMissingAppointmentsAndCachesTheEmptyOnes() {
+        PrescriptionCache cache = new PrescriptionCache(10, 30);
+        Prescription cached = new Prescription("Patient", 1L, "Ibuprofen", "200mg");
+        Prescription loaded = new Prescription("Patient", 2L, "Amoxicillin", "500mg");
+        cache.put(cached);
+        List<List<Long>> batches = new ArrayList<>();
+
+        List<Prescription> first = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            batches.add(List.copyOf(ids));
+            return List.of(loaded);
+        });
+        List<Prescription> second = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            batches.add(List.copyOf(ids));
+            return List.of();
+        });
+
+        assertEquals(List.of(cached, loaded), first);
+        assertEquals(List.of(cached, loaded), second);
+        assertEquals(List.of(List.of(2L, 3L)), batches);
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class ReadThroughLruTest {
+
+    @Test
+    void valueTooHeavyToCacheDropsTheEntryItReplaces() {
+        ReadThroughLru<Long, String> lru = new ReadThroughLru<>(5, String::length, value -> true,
+                (current, loaded) -> true);
+
+        lru.put(1L, "abc");
+        lru.put(1L, "abcdefgh");
+        assertNull(lru.getIfFresh(1L));
+
+        lru.put(2L, "abcde");
+        assertEquals("abcde", lru.getIfFresh(2L));
+        assertEquals(0L, lru.stats().get("evictions"));
+    }
+}